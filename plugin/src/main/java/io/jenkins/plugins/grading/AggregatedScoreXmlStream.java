@@ -1,5 +1,7 @@
 package io.jenkins.plugins.grading;
 
+import java.util.List;
+
 import edu.hm.hafner.grading.AggregatedScore;
 import edu.hm.hafner.grading.AnalysisScore;
 import edu.hm.hafner.grading.CoverageScore;
@@ -16,6 +18,9 @@ import io.jenkins.plugins.util.AbstractXmlStream;
  * @author Eva-Maria Zeintl
  */
 public class AggregatedScoreXmlStream extends AbstractXmlStream<AggregatedScore> {
+    private static final List<Class<?>> SCORE_TYPES = List.of(
+            AggregatedScore.class, AnalysisScore.class, TestScore.class, CoverageScore.class);
+
     /**
      * creates a new {@link AggregatedScoreXmlStream}.
      */
@@ -34,5 +39,9 @@ public class AggregatedScoreXmlStream extends AbstractXmlStream<AggregatedScore>
         xStream.alias("analysisScore", AnalysisScore.class);
         xStream.alias("testScore", TestScore.class);
         xStream.alias("coverageScore", CoverageScore.class);
+        xStream.registerConverter(new FilteredLogConverter(xStream.getMapper(), xStream.getReflectionProvider()));
+        for (Class<?> type : SCORE_TYPES) {
+            xStream.registerConverter(new ScoreConverter(type, xStream.getMapper(), xStream.getReflectionProvider()));
+        }
     }
 }
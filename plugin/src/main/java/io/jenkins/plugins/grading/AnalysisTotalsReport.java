@@ -0,0 +1,182 @@
+package io.jenkins.plugins.grading;
+
+import java.io.Serial;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.analysis.Severity;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+import io.jenkins.plugins.analysis.core.model.AnalysisResult;
+
+/**
+ * A static analysis report that answers the number of issues per severity from the totals that are already stored in
+ * an {@link AnalysisResult}. The issues of the result are loaded only if a client actually iterates over the
+ * individual issues of this report (e.g., to create annotations). So grading a tool does not require to deserialize all
+ * issues of the result. All methods that access individual issues (iteration, filtering, copying, etc.) are delegated
+ * to the loaded issues, while the ID and name of the report are those of the result.
+ *
+ * @author Ullrich Hafner
+ */
+class AnalysisTotalsReport extends Report {
+    @Serial
+    private static final long serialVersionUID = -4371962385624733563L;
+
+    private static final Severity[] SEVERITIES = {
+            Severity.ERROR, Severity.WARNING_HIGH, Severity.WARNING_NORMAL, Severity.WARNING_LOW};
+
+    private final Map<Severity, Integer> totals = new EnumMap<>(Severity.class);
+    private final int totalSize;
+
+    @CheckForNull
+    private transient AnalysisResult result;
+    @CheckForNull
+    private transient Report issues;
+
+    /**
+     * Creates a new instance of {@link AnalysisTotalsReport}.
+     *
+     * @param result
+     *         the analysis result that provides the totals and the issues
+     * @param name
+     *         the name of the tool that created the result
+     */
+    AnalysisTotalsReport(final AnalysisResult result, final String name) {
+        super(result.getId(), name);
+
+        this.result = result;
+
+        for (Severity severity : SEVERITIES) {
+            totals.put(severity, result.getTotalSizeOf(severity));
+        }
+        totalSize = result.getTotalSize();
+    }
+
+    /**
+     * Creates a new instance of {@link AnalysisTotalsReport} that has no individual issues but only the specified
+     * totals.
+     *
+     * @param id
+     *         the ID of the tool that created the issues
+     * @param name
+     *         the name of the tool that created the issues
+     * @param errors
+     *         the number of errors
+     * @param high
+     *         the number of warnings with severity high
+     * @param normal
+     *         the number of warnings with severity normal
+     * @param low
+     *         the number of warnings with severity low
+     */
+    AnalysisTotalsReport(final String id, final String name,
+            final int errors, final int high, final int normal, final int low) {
+        super(id, name);
+
+        totals.put(Severity.ERROR, errors);
+        totals.put(Severity.WARNING_HIGH, high);
+        totals.put(Severity.WARNING_NORMAL, normal);
+        totals.put(Severity.WARNING_LOW, low);
+        totalSize = errors + high + normal + low;
+    }
+
+    @Override
+    public int getSizeOf(final Severity severity) {
+        return totals.getOrDefault(severity, 0);
+    }
+
+    @Override
+    public int size() {
+        return totalSize;
+    }
+
+    @Override
+    public int getSize() {
+        return totalSize;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return totalSize == 0;
+    }
+
+    @Override
+    public boolean isNotEmpty() {
+        return totalSize > 0;
+    }
+
+    @Override
+    public Iterator<Issue> iterator() {
+        return getIssues().iterator();
+    }
+
+    @Override
+    public Stream<Issue> stream() {
+        return getIssues().stream();
+    }
+
+    @Override
+    public Issue get(final int index) {
+        return getIssues().get(index);
+    }
+
+    @Override
+    public Set<String> getFiles() {
+        return getIssues().getFiles();
+    }
+
+    @Override
+    public Report filter(final Predicate<? super Issue> criterion) {
+        return getIssues().filter(criterion);
+    }
+
+    @Override
+    public Report copy() {
+        return getIssues().copy();
+    }
+
+    /**
+     * Returns the issues of the underlying analysis result. The issues are loaded on the first invocation of this
+     * method.
+     *
+     * @return the issues
+     */
+    synchronized Report getIssues() {
+        if (issues == null) {
+            if (result == null) {
+                issues = new Report(getId(), getName());
+            }
+            else {
+                issues = result.getIssues();
+            }
+        }
+        return issues;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+        var that = (AnalysisTotalsReport) o;
+        return totalSize == that.totalSize && totals.equals(that.totals);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), totals, totalSize);
+    }
+}
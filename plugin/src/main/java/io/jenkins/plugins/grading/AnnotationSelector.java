@@ -0,0 +1,173 @@
+package io.jenkins.plugins.grading;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.Severity;
+import edu.hm.hafner.grading.AnalysisConfiguration;
+
+/**
+ * Selects the issues of static analysis reports that should be published as annotations. The issues are ranked by
+ * their severity and by the absolute impact of their severity on the score. Issues with the same file name, line, and
+ * message are annotated only once. The number of selected issues is limited: the issues are processed one by one, and
+ * only the top ranked issues are retained. So the memory required for the selection is bounded by the limit, not by
+ * the number of issues in the reports.
+ *
+ * @author Ullrich Hafner
+ */
+class AnnotationSelector {
+    private static final Comparator<Candidate> RANKING = Comparator
+            .comparingInt(Candidate::severityRank)
+            .thenComparingInt(Candidate::impact)
+            .thenComparing(Comparator.comparingLong(Candidate::sequence).reversed()); // earlier issues win ties
+
+    private final int limit;
+    private final PriorityQueue<Candidate> selected; // the lowest ranked issue is the head
+    private final Set<IssueKey> selectedKeys = new HashSet<>();
+    private long sequence;
+    private int total;
+    private int duplicates;
+
+    /**
+     * Creates a new instance of {@link AnnotationSelector}.
+     *
+     * @param limit
+     *         the maximum number of issues to select
+     */
+    AnnotationSelector(final int limit) {
+        this.limit = limit;
+        selected = new PriorityQueue<>(Math.max(1, Math.min(limit, 1024)), RANKING);
+    }
+
+    /**
+     * Processes the issues of a report that has been graded with the specified configuration.
+     *
+     * @param issues
+     *         the issues of the report
+     * @param configuration
+     *         the configuration that defines the impact of each severity
+     */
+    void add(final Iterable<Issue> issues, final AnalysisConfiguration configuration) {
+        add(issues, severity -> getImpact(severity, configuration));
+    }
+
+    /**
+     * Processes the specified issues. The issues are iterated once, so lazily filtered issues are supported.
+     *
+     * @param issues
+     *         the issues
+     * @param impact
+     *         the impact of each severity on the score
+     */
+    void add(final Iterable<Issue> issues, final ToIntFunction<Severity> impact) {
+        for (Issue issue : issues) {
+            total++;
+            if (limit <= 0) {
+                continue; // count the issues only
+            }
+            var key = new IssueKey(issue.getFileName(), issue.getLineStart(), issue.getMessage());
+            if (selectedKeys.contains(key)) {
+                duplicates++;
+                continue;
+            }
+            var candidate = new Candidate(issue, key, getSeverityRank(issue.getSeverity()),
+                    Math.abs(impact.applyAsInt(issue.getSeverity())), sequence++);
+            if (selected.size() < limit) {
+                select(candidate);
+            }
+            else if (RANKING.compare(candidate, selected.peek()) > 0) {
+                selectedKeys.remove(selected.poll().key());
+                select(candidate);
+            }
+        }
+    }
+
+    private void select(final Candidate candidate) {
+        selected.add(candidate);
+        selectedKeys.add(candidate.key());
+    }
+
+    private static int getImpact(final Severity severity, final AnalysisConfiguration configuration) {
+        if (Severity.ERROR.equals(severity)) {
+            return configuration.getErrorImpact();
+        }
+        if (Severity.WARNING_HIGH.equals(severity)) {
+            return configuration.getHighImpact();
+        }
+        if (Severity.WARNING_NORMAL.equals(severity)) {
+            return configuration.getNormalImpact();
+        }
+        return configuration.getLowImpact();
+    }
+
+    private static int getSeverityRank(final Severity severity) {
+        if (Severity.ERROR.equals(severity)) {
+            return 3;
+        }
+        if (Severity.WARNING_HIGH.equals(severity)) {
+            return 2;
+        }
+        if (Severity.WARNING_NORMAL.equals(severity)) {
+            return 1;
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the number of processed issues.
+     *
+     * @return the number of processed issues
+     */
+    int getTotal() {
+        return total;
+    }
+
+    /**
+     * Returns the number of processed issues that have been skipped since they are duplicates of selected issues.
+     *
+     * @return the number of duplicates
+     */
+    int getDuplicates() {
+        return duplicates;
+    }
+
+    /**
+     * Returns the selected issues, the highest ranked issue first.
+     *
+     * @return the selected issues
+     */
+    List<Issue> getSelectedIssues() {
+        List<Candidate> ranked = new ArrayList<>(selected);
+        ranked.sort(RANKING.reversed());
+        return ranked.stream().map(Candidate::issue).toList();
+    }
+
+    /**
+     * Splits the selected issues into batches of the specified size, the highest ranked issues first.
+     *
+     * @param batchSize
+     *         the maximum number of issues in a batch
+     *
+     * @return the batches
+     */
+    List<List<Issue>> getBatches(final int batchSize) {
+        var issues = getSelectedIssues();
+        List<List<Issue>> batches = new ArrayList<>();
+        for (int start = 0; start < issues.size(); start += batchSize) {
+            batches.add(issues.subList(start, Math.min(issues.size(), start + batchSize)));
+        }
+        return batches;
+    }
+
+    private record IssueKey(String fileName, int line, String message) {
+    }
+
+    private record Candidate(Issue issue, IssueKey key, int severityRank, int impact, long sequence) {
+    }
+}
@@ -1,10 +1,15 @@
 package io.jenkins.plugins.grading; // NOPMD
 
+import java.io.IOException;
+import java.util.Optional;
+
 import edu.hm.hafner.grading.AggregatedScore;
 import edu.hm.hafner.util.FilteredLog;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
 
 import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
 import org.jenkinsci.Symbol;
 import hudson.EnvVars;
 import hudson.Extension;
@@ -31,6 +36,14 @@ import io.jenkins.plugins.util.LogHandler;
 public class AutoGrader extends Recorder implements SimpleBuildStep {
     static final String LOG_TITLE = "Autograding Jenkins build results";
     private final String configuration;
+    private boolean concurrent;
+    private boolean incremental;
+    private boolean agentSide;
+    private boolean asynchronousPersistence;
+    private boolean asynchronousChecks;
+    private boolean newIssuesOnly;
+    private int maxAnnotations;
+    private boolean selectTestSuites;
 
     /**
      * Creates a new instance of {@link AutoGrader}.
@@ -49,34 +62,243 @@ public class AutoGrader extends Recorder implements SimpleBuildStep {
         return configuration;
     }
 
+    /**
+     * Determines whether the reports of all tools should be loaded concurrently. The reports are loaded on a bounded
+     * controller-wide executor, the grading itself is still done in the configured order so that scores and log
+     * messages are identical to the serial mode.
+     *
+     * @param concurrent
+     *         {@code true} if the reports should be loaded concurrently, {@code false} otherwise
+     */
+    @DataBoundSetter
+    public void setConcurrent(final boolean concurrent) {
+        this.concurrent = concurrent;
+    }
+
+    public boolean isConcurrent() {
+        return concurrent;
+    }
+
+    /**
+     * Determines whether the scores of the previous build should be reused for all categories whose inputs did not
+     * change. The inputs of a category are identified by the grading configuration and the totals of the corresponding
+     * results. The fingerprints of the inputs are computed only in this mode, so a build can reuse the scores only if
+     * the previous build has been graded in this mode as well.
+     *
+     * @param incremental
+     *         {@code true} if unchanged category scores of the previous build should be reused, {@code false}
+     *         otherwise
+     */
+    @DataBoundSetter
+    public void setIncremental(final boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    /**
+     * Determines whether the raw report files in the workspace should be parsed and graded on the agent. In this mode
+     * the results of other plugins are not used: the files of a tool are selected by the pattern of the tool and
+     * parsed by the parser with the ID of the tool. Only the resulting score is sent to the controller. The options
+     * {@link #setConcurrent(boolean) concurrent} and {@link #setIncremental(boolean) incremental} are ignored in this
+     * mode.
+     *
+     * @param agentSide
+     *         {@code true} if the report files should be parsed and graded on the agent, {@code false} if the results
+     *         of other plugins should be graded on the controller
+     */
+    @DataBoundSetter
+    public void setAgentSide(final boolean agentSide) {
+        this.agentSide = agentSide;
+    }
+
+    public boolean isAgentSide() {
+        return agentSide;
+    }
+
+    /**
+     * Determines whether the result should be written on a background thread. Until the result has been written, it
+     * is served from memory. All pending results of a build are written before the build completes.
+     *
+     * @param asynchronousPersistence
+     *         {@code true} if the result should be written on a background thread, {@code false} if the result
+     *         should be written by the build step
+     */
+    @DataBoundSetter
+    public void setAsynchronousPersistence(final boolean asynchronousPersistence) {
+        this.asynchronousPersistence = asynchronousPersistence;
+    }
+
+    public boolean isAsynchronousPersistence() {
+        return asynchronousPersistence;
+    }
+
+    /**
+     * Determines whether the checks should be published on a background thread. The checks are queued on a
+     * controller-wide queue that publishes a bounded number of checks concurrently and retries failed publications.
+     * Queued checks of a build are replaced by newer checks of the same build.
+     *
+     * @param asynchronousChecks
+     *         {@code true} if the checks should be published on a background thread, {@code false} if the checks
+     *         should be published by the build step
+     */
+    @DataBoundSetter
+    public void setAsynchronousChecks(final boolean asynchronousChecks) {
+        this.asynchronousChecks = asynchronousChecks;
+    }
+
+    public boolean isAsynchronousChecks() {
+        return asynchronousChecks;
+    }
+
+    /**
+     * Determines whether only new static analysis issues should be published as annotations. An issue is new if
+     * there is no matching issue (with the same fingerprint) in the report of the same tool in the previous completed
+     * build. The summary of the checks still reports the total number of issues.
+     *
+     * @param newIssuesOnly
+     *         {@code true} if only new issues should be annotated, {@code false} if all issues should be annotated
+     */
+    @DataBoundSetter
+    public void setNewIssuesOnly(final boolean newIssuesOnly) {
+        this.newIssuesOnly = newIssuesOnly;
+    }
+
+    public boolean isNewIssuesOnly() {
+        return newIssuesOnly;
+    }
+
+    /**
+     * Determines the maximum number of static analysis issues that should be published as annotations of the checks.
+     * Annotations are disabled by default: selecting the annotations requires loading all issues of every graded
+     * static analysis tool, while the scores require the totals of the results only.
+     *
+     * @param maxAnnotations
+     *         the maximum number of annotations, 0 disables the annotations
+     */
+    @DataBoundSetter
+    public void setMaxAnnotations(final int maxAnnotations) {
+        this.maxAnnotations = Math.max(0, maxAnnotations);
+    }
+
+    public int getMaxAnnotations() {
+        return maxAnnotations;
+    }
+
+    /**
+     * Determines whether the test suites of each test tool should be selected from all test results of the run. A
+     * tool selects the suites that have been recorded in a stage or parallel branch with the ID of the tool, or whose
+     * report file matches the pattern of the tool. Selecting suites requires loading all test results of the run, so
+     * by default the totals of the test result action are used for every tool.
+     *
+     * @param selectTestSuites
+     *         {@code true} if the test suites should be selected by stage or pattern, {@code false} if the totals of
+     *         the test result action should be used
+     */
+    @DataBoundSetter
+    public void setSelectTestSuites(final boolean selectTestSuites) {
+        this.selectTestSuites = selectTestSuites;
+    }
+
+    public boolean isSelectTestSuites() {
+        return selectTestSuites;
+    }
+
     @Override
     public void perform(@NonNull final Run<?, ?> run, @NonNull final FilePath workspace, @NonNull final EnvVars env,
-            @NonNull final Launcher launcher, @NonNull final TaskListener listener) {
+            @NonNull final Launcher launcher, @NonNull final TaskListener listener)
+            throws IOException, InterruptedException {
+        if (isAgentSide()) {
+            var result = workspace.act(new WorkspaceGrader(getConfiguration()));
+
+            publish(run, listener, GradingConfigurationCache.get().compile(getConfiguration()),
+                    result.log(), result.score(), null, result.timings());
+        }
+        else {
+            gradeOnController(run, listener);
+        }
+    }
+
+    private void gradeOnController(final Run<?, ?> run, final TaskListener listener) {
         FilteredLog log = new FilteredLog(LOG_TITLE);
 
-        AggregatedScore score = new AggregatedScore(getConfiguration(), log);
+        GradingConfiguration gradingConfiguration = GradingConfigurationCache.get().compile(getConfiguration());
+        // the grading model accepts the raw JSON only, so the score still parses its own copy of the configuration
+        AggregatedScore score = new AggregatedScore(gradingConfiguration.getJson(), log);
 
         log.logInfo("Reading configuration: %s", getConfiguration());
 
-        log.logInfo("Grading static analysis results");
-        JenkinsAnalysisReportFactory analysisScores = new JenkinsAnalysisReportFactory(run);
-        score.gradeAnalysis(analysisScores);
+        GradingTimings timings = new GradingTimings();
 
-        log.logInfo("Grading coverage results");
-        JenkinsCoverageReportFactory coverageScores = new JenkinsCoverageReportFactory(run);
-        score.gradeCoverage(coverageScores);
+        RunActionIndex actions = new RunActionIndex(run);
+        JenkinsTestReportFactory testFactory = new JenkinsTestReportFactory(actions, isSelectTestSuites());
+        InputFingerprints fingerprints = timings.measure(GradingTimings.Phase.LOOKUP, "", "", () -> {
+            actions.indexAll(log);
+            if (isIncremental()) {
+                return InputFingerprints.create(gradingConfiguration, actions, testFactory, log);
+            }
+            return null;
+        });
 
-        log.logInfo("Grading test results");
-        JenkinsTestReportFactory testScores = new JenkinsTestReportFactory(run);
-        score.gradeTests(testScores);
+        ReportFactories factories = new ReportFactories(actions, testFactory);
+        if (fingerprints != null) {
+            findPreviousAction(run, fingerprints).ifPresent(previous -> factories.reuseUnchanged(
+                    new ReusedScoreFactory(gradingConfiguration, previous.getResult(), previous.getFingerprints()),
+                    fingerprints, previous.getFingerprints(), previous.getOwner().getDisplayName(), log));
+        }
+        factories.measure(timings);
+        if (isConcurrent()) {
+            factories.prefetch(gradingConfiguration, GradingExecutor.get());
+        }
+        factories.grade(score, log, timings);
+
+        publish(run, listener, gradingConfiguration, log, score, fingerprints, timings);
+    }
 
+    private void publish(final Run<?, ?> run, final TaskListener listener,
+            final GradingConfiguration gradingConfiguration, final FilteredLog log, final AggregatedScore score,
+            @CheckForNull final InputFingerprints fingerprints, final GradingTimings timings) {
         LogHandler logHandler = new LogHandler(listener, "Autograding");
         logHandler.log(log);
 
-        run.addAction(new AutoGradingBuildAction(run, score));
+        var action = timings.measure(GradingTimings.Phase.PERSISTENCE, "", "", () -> {
+            var buildDirectory = run.getRootDir().toPath();
+            if (isAsynchronousPersistence()) {
+                var pending = new AutoGradingBuildAction(run, score, fingerprints, timings, false);
+                ResultWriter.get().write(buildDirectory, pending.getResultPath(), score, log,
+                        pending::updateJobIndexes);
+                return pending;
+            }
+            GradingLogStore.write(buildDirectory, log);
+            var recorded = new AutoGradingBuildAction(run, score, fingerprints, timings);
+            recorded.updateJobIndexes();
+            return recorded;
+        });
+        run.addAction(action);
 
         AutoGradingChecksPublisher checksPublisher = new AutoGradingChecksPublisher();
-        checksPublisher.publishChecks(run, listener, score);
+        timings.measure(GradingTimings.Phase.CHECKS, () -> checksPublisher.publishChecks(run, listener, score,
+                gradingConfiguration, isAsynchronousChecks(), isNewIssuesOnly(), getMaxAnnotations()));
+    }
+
+    private Optional<AutoGradingBuildAction> findPreviousAction(final Run<?, ?> run,
+            final InputFingerprints fingerprints) {
+        var previousBuild = run.getPreviousBuild();
+        if (previousBuild == null) {
+            return Optional.empty();
+        }
+        var previousAction = previousBuild.getAction(AutoGradingBuildAction.class);
+        if (previousAction == null) {
+            return Optional.empty();
+        }
+        var previousFingerprints = previousAction.getFingerprints();
+        if (fingerprints.hasSameAnalysis(previousFingerprints) || fingerprints.hasSameCoverage(previousFingerprints)
+                || fingerprints.hasSameTests(previousFingerprints)) {
+            return Optional.of(previousAction);
+        }
+        return Optional.empty();
     }
 
     @Override
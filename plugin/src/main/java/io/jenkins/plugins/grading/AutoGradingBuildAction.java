@@ -1,11 +1,17 @@
 package io.jenkins.plugins.grading;
 
+import java.io.IOException;
 import java.io.Serial;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import edu.hm.hafner.grading.AggregatedScore;
 import edu.hm.hafner.util.VisibleForTesting;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 
 import org.kohsuke.stapler.StaplerProxy;
+import org.kohsuke.stapler.export.Exported;
+import org.kohsuke.stapler.export.ExportedBean;
 import hudson.model.Run;
 
 import io.jenkins.plugins.util.BuildAction;
@@ -17,10 +23,18 @@ import io.jenkins.plugins.util.BuildAction;
  *
  * @author Eva-Maria Zeintl
  */
+@ExportedBean
 public class AutoGradingBuildAction extends BuildAction<AggregatedScore> implements StaplerProxy {
     @Serial
     private static final long serialVersionUID = -1165416468486465651L;
 
+    @CheckForNull
+    private final InputFingerprints fingerprints;
+    @CheckForNull
+    private final GradingTimings timings;
+    @CheckForNull
+    private ScoreSummary summary; // not final: builds of older releases have no summary yet
+
     /**
      * Creates a new instance of {@link AutoGradingBuildAction}.
      *
@@ -33,14 +47,157 @@ public class AutoGradingBuildAction extends BuildAction<AggregatedScore> impleme
         this(owner, score, true);
     }
 
+    /**
+     * Creates a new instance of {@link AutoGradingBuildAction}.
+     *
+     * @param owner
+     *         the associated build that created the scores
+     * @param score
+     *         score instance where all results are saved
+     * @param fingerprints
+     *         the fingerprints of the inputs of the scores
+     * @param timings
+     *         the timings of the grading phases
+     */
+    AutoGradingBuildAction(final Run<?, ?> owner, final AggregatedScore score,
+            @CheckForNull final InputFingerprints fingerprints, final GradingTimings timings) {
+        this(owner, score, fingerprints, timings, true);
+    }
+
+    /**
+     * Creates a new instance of {@link AutoGradingBuildAction}.
+     *
+     * @param owner
+     *         the associated build that created the scores
+     * @param score
+     *         score instance where all results are saved
+     * @param fingerprints
+     *         the fingerprints of the inputs of the scores
+     * @param timings
+     *         the timings of the grading phases
+     * @param canSerialize
+     *         determines whether the result should be written to the result file of the build, if {@code false} the
+     *         caller is responsible to write the result (see {@link ResultWriter})
+     */
+    AutoGradingBuildAction(final Run<?, ?> owner, final AggregatedScore score,
+            @CheckForNull final InputFingerprints fingerprints, final GradingTimings timings,
+            final boolean canSerialize) {
+        super(owner, score, canSerialize);
+
+        this.fingerprints = fingerprints;
+        this.timings = timings;
+        summary = ScoreSummary.from(score);
+    }
+
     @VisibleForTesting
     AutoGradingBuildAction(final Run<?, ?> owner, final AggregatedScore score, final boolean canSerialize) {
         super(owner, score, canSerialize);
+
+        fingerprints = null;
+        timings = null;
+        summary = ScoreSummary.from(score);
+    }
+
+    /**
+     * Stores the summary of this build in the index of the job, so that the views of the job do not need to read the
+     * results of all builds. The index is not updated by the constructor, since the caller decides whether the
+     * files are written by the build thread or by the {@link ResultWriter}.
+     *
+     * @see ScoreColumnStore
+     */
+    void updateJobIndexes() {
+        ScoreColumnStore.put(getOwner(), getSummary());
+    }
+
+    /**
+     * Returns the fingerprints of the inputs of the scores. Builds that have been recorded with an older release of
+     * this plugin or without incremental grading have no fingerprints.
+     *
+     * @return the fingerprints, or {@code null} if there are no fingerprints available
+     */
+    @CheckForNull
+    InputFingerprints getFingerprints() {
+        return fingerprints;
+    }
+
+    /**
+     * Returns the timings of the grading phases. Builds that have been recorded with an older release of this plugin
+     * have no timings.
+     *
+     * @return the timings
+     */
+    @Exported(inline = true)
+    public GradingTimings getTimings() {
+        return timings == null ? new GradingTimings() : timings;
+    }
+
+    /**
+     * Returns the score of this build. If the score has not been written to the result file yet, then the pending
+     * score is returned. Otherwise, the score is served from the {@link ScoreCache}.
+     *
+     * @return the score
+     */
+    @Override
+    public AggregatedScore getResult() {
+        var resultPath = getResultPath();
+        return ResultWriter.get().findPending(resultPath)
+                .orElseGet(() -> ScoreCache.get().get(resultPath, super::getResult));
+    }
+
+    /**
+     * Rewrites the result of this build in the current storage format. Results of older releases of this plugin are
+     * stored in a plain XML file that contains the log messages as well: these results are written to the compressed
+     * result file, the log messages are written to the separate log file, and the XML file is deleted afterward.
+     * Additionally, the score summary is stored in this action. The score is read directly from the result files, so
+     * the migration does not fill the {@link ScoreCache}. A cached score of the legacy file is removed from the cache.
+     *
+     * @return {@code true} if the result has been migrated, {@code false} if the result already is in the current
+     *         format
+     * @throws IOException
+     *         if the result can't be migrated
+     */
+    boolean migrate() throws IOException {
+        var buildDirectory = getOwner().getRootDir().toPath();
+        var legacyFile = buildDirectory.resolve(CompressedScoreStream.LEGACY_FILE_NAME);
+        var hasLegacyFile = Files.exists(legacyFile);
+        synchronized (this) {
+            if (!hasLegacyFile && summary != null) {
+                return false;
+            }
+        }
+
+        var resultFile = getResultPath();
+        var stream = new CompressedScoreStream();
+        // read the score directly, so that migrating all builds does not fill the score cache
+        var score = ResultWriter.get().findPending(resultFile).orElseGet(() -> stream.read(resultFile));
+        if (hasLegacyFile) {
+            if (GradingLogStore.read(buildDirectory).isEmpty()) {
+                GradingLogStore.write(buildDirectory, score.getInfoMessages(), score.getErrorMessages());
+            }
+            stream.writeCompressed(resultFile, score);
+            if (stream.read(resultFile).getAchievedScore() != score.getAchievedScore()) {
+                throw new IOException("Failed to write the migrated result to " + resultFile);
+            }
+            Files.delete(legacyFile);
+            ScoreCache.get().invalidate(resultFile);
+        }
+        synchronized (this) {
+            if (summary == null) {
+                summary = ScoreSummary.from(score);
+            }
+        }
+        getOwner().save();
+
+        return true;
+    }
+
+    Path getResultPath() {
+        return getOwner().getRootDir().toPath().resolve(getBuildResultBaseName());
     }
 
     @Override
     protected AggregatedScoreXmlStream createXmlStream() {
-        return new AggregatedScoreXmlStream();
+        return new CompressedScoreStream();
     }
 
     @Override
@@ -50,7 +207,7 @@ public class AutoGradingBuildAction extends BuildAction<AggregatedScore> impleme
 
     @Override
     protected String getBuildResultBaseName() {
-        return "auto-grading.xml";
+        return CompressedScoreStream.FILE_NAME;
     }
 
     @Override
@@ -70,7 +227,7 @@ public class AutoGradingBuildAction extends BuildAction<AggregatedScore> impleme
      */
     @Override
     public Object getTarget() {
-        return new AutoGradingViewModel(getOwner(), getResult());
+        return new AutoGradingViewModel(getOwner(), getResult(), getTimings());
     }
 
     @Override
@@ -78,13 +235,28 @@ public class AutoGradingBuildAction extends BuildAction<AggregatedScore> impleme
         return AutoGradingJobAction.ID;
     }
 
+    /**
+     * Returns a summary of the score. The summary is stored in this action, so the full score does not need to be
+     * loaded from the result file. For builds of older releases of this plugin the summary is created once from the
+     * full score.
+     *
+     * @return the summary of the score
+     */
+    @Exported(inline = true)
+    public synchronized ScoreSummary getSummary() {
+        if (summary == null) {
+            summary = ScoreSummary.from(getResult());
+        }
+        return summary;
+    }
+
     @SuppressWarnings("unused")
     public int getAchieved() {
-        return getResult().getAchievedScore();
+        return getSummary().getAchieved();
     }
 
     @SuppressWarnings("unused")
     public int getTotal() {
-        return getResult().getAchievedScore();
+        return getSummary().getTotal();
     }
 }
@@ -0,0 +1,80 @@
+package io.jenkins.plugins.grading;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import hudson.Extension;
+import hudson.model.ManagementLink;
+
+/**
+ * Shows the statistics of the controller-wide caches of this plugin on a management page: the {@link ScoreCache} of
+ * loaded scores and the {@link GradingConfigurationCache} of parsed grading configurations. The layout of the page is
+ * defined in the associated jelly view 'index.jelly'.
+ *
+ * @author Ullrich Hafner
+ */
+@Extension
+public class AutoGradingCachesLink extends ManagementLink {
+    private static final long KILOBYTE = 1024;
+
+    @Override
+    public String getIconFileName() {
+        return AutoGradingJobAction.ICON;
+    }
+
+    @Override
+    public String getDisplayName() {
+        return Messages.Caches_Name();
+    }
+
+    @Override
+    public String getDescription() {
+        return Messages.Caches_Description();
+    }
+
+    @Override
+    public String getUrlName() {
+        return "autograding-caches";
+    }
+
+    @NonNull
+    @Override
+    public Category getCategory() {
+        return Category.STATUS;
+    }
+
+    public long getScoreHits() {
+        return ScoreCache.get().getHitCount();
+    }
+
+    public long getScoreMisses() {
+        return ScoreCache.get().getMissCount();
+    }
+
+    public long getScoreEvictions() {
+        return ScoreCache.get().getEvictionCount();
+    }
+
+    public int getScoreSize() {
+        return ScoreCache.get().size();
+    }
+
+    public long getScoreWeightKb() {
+        return ScoreCache.get().getWeight() / KILOBYTE;
+    }
+
+    public long getScoreCapacityKb() {
+        return ScoreCache.get().getCapacity() / KILOBYTE;
+    }
+
+    public long getConfigurationHits() {
+        return GradingConfigurationCache.get().getHitCount();
+    }
+
+    public long getConfigurationMisses() {
+        return GradingConfigurationCache.get().getMissCount();
+    }
+
+    public int getConfigurationSize() {
+        return GradingConfigurationCache.get().size();
+    }
+}
@@ -1,21 +1,24 @@
 package io.jenkins.plugins.grading;
 
-import java.util.HashSet;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Element;
-import org.jsoup.nodes.TextNode;
-
 import edu.hm.hafner.analysis.Issue;
 import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.analysis.Severity;
 import edu.hm.hafner.grading.AggregatedScore;
-import edu.hm.hafner.grading.GradingReport;
+import edu.hm.hafner.grading.AnalysisConfiguration;
+import edu.hm.hafner.grading.ToolConfiguration;
+import edu.hm.hafner.util.FilteredLog;
+import edu.hm.hafner.util.VisibleForTesting;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 
 import hudson.model.Run;
 import hudson.model.TaskListener;
+import hudson.util.LogTaskListener;
 
 import io.jenkins.plugins.checks.api.ChecksAnnotation;
 import io.jenkins.plugins.checks.api.ChecksAnnotation.ChecksAnnotationBuilder;
@@ -28,49 +31,204 @@ import io.jenkins.plugins.checks.api.ChecksPublisher;
 import io.jenkins.plugins.checks.api.ChecksPublisherFactory;
 import io.jenkins.plugins.checks.api.ChecksStatus;
 import io.jenkins.plugins.util.JenkinsFacade;
+import io.jenkins.plugins.util.LogHandler;
 
 /**
- * Publishes the autograding results to SCM providers.
+ * Publishes the autograding results to SCM providers. Optionally, the issues of the graded static analysis reports are
+ * published as annotations: the issues are selected by an {@link AnnotationSelector} and handed to the
+ * {@link ChecksPublisher} in batches that fit the limits of the SCM providers. The maximum number of annotations is
+ * configured in the step, annotations are disabled by default: selecting the annotations requires loading all issues
+ * of every graded static analysis tool. Optionally, only the issues that are new with respect to the previous
+ * completed build are annotated, see {@link NewIssueFilter}. The checks are either created and published by the build
+ * step or handed to the {@link ChecksQueue} that creates and publishes them in the background.
  *
  * @author Ullrich Hafner
  */
 class AutoGradingChecksPublisher {
-    void publishChecks(final Run<?, ?> run, final TaskListener listener,
-            final AggregatedScore score) {
-        ChecksPublisher publisher = ChecksPublisherFactory.fromRun(run, listener);
+    private static final Logger LOGGER = Logger.getLogger(AutoGradingChecksPublisher.class.getName());
+    static final int BATCH_SIZE = 50; // GitHub accepts 50 annotations per request
+
+    private final JenkinsFacade jenkins;
+
+    AutoGradingChecksPublisher() {
+        this(new JenkinsFacade());
+    }
+
+    @VisibleForTesting
+    AutoGradingChecksPublisher(final JenkinsFacade jenkins) {
+        this.jenkins = jenkins;
+    }
+
+    void publishChecks(final Run<?, ?> run, final TaskListener listener, final AggregatedScore score,
+            final GradingConfiguration configuration, final boolean asynchronous, final boolean newIssuesOnly,
+            final int maxAnnotations) {
+        if (asynchronous) {
+            // the listener of the build is closed when the checks are published
+            var systemLog = new LogTaskListener(LOGGER, Level.INFO);
+            ChecksQueue.get().submit(run.getExternalizableId(),
+                    () -> ChecksPublisherFactory.fromRun(run, systemLog),
+                    () -> createChecks(run, systemLog, score, configuration, newIssuesOnly, maxAnnotations));
+            listener.getLogger().println("[Autograding] Queued the checks for publishing");
+        }
+        else {
+            publish(ChecksPublisherFactory.fromRun(run, listener),
+                    createChecks(run, listener, score, configuration, newIssuesOnly, maxAnnotations));
+        }
+    }
+
+    /**
+     * Publishes the specified checks in the given order.
+     *
+     * @param publisher
+     *         the publisher to use
+     * @param checks
+     *         the checks to publish
+     */
+    void publish(final ChecksPublisher publisher, final List<ChecksDetails> checks) {
+        for (ChecksDetails details : checks) {
+            publisher.publish(details);
+        }
+    }
+
+    private List<ChecksDetails> createChecks(final Run<?, ?> run, final TaskListener listener,
+            final AggregatedScore score, final GradingConfiguration configuration, final boolean newIssuesOnly,
+            final int maxAnnotations) {
+        if (maxAnnotations <= 0) {
+            return createChecks(run, score, new AnnotationSelector(0), "");
+        }
+        var selector = new AnnotationSelector(maxAnnotations);
+        var reference = newIssuesOnly ? run.getPreviousCompletedBuild() : null;
+        int total = selectAnnotations(new RunActionIndex(run),
+                reference == null ? null : new RunActionIndex(reference), configuration, selector, listener);
+        var annotationSummary = reference == null ? ""
+                : createAnnotationSummary(selector, total, reference.getDisplayName());
+
+        listener.getLogger().printf("[Autograding] Selected %d of %d issues as annotations (%d duplicates)%n",
+                selector.getSelectedIssues().size(), selector.getTotal(), selector.getDuplicates());
+        if (reference != null) {
+            listener.getLogger().printf("[Autograding] %s%n", annotationSummary);
+        }
+        return createChecks(run, score, selector, annotationSummary);
+    }
 
-        GradingReport report = new GradingReport();
+    /**
+     * Selects the annotations of all graded static analysis reports. If a reference build is given, then only the
+     * issues that are new with respect to the report of the same tool in the reference build are handed to the
+     * selector: the new issues are filtered lazily, so the selector counts the new issues while selecting them.
+     *
+     * @return the number of issues in the reports
+     */
+    private int selectAnnotations(final RunActionIndex actions,
+            @CheckForNull final RunActionIndex referenceActions, final GradingConfiguration configuration,
+            final AnnotationSelector selector, final TaskListener listener) {
+        var log = new FilteredLog("Errors while selecting annotations:");
+        int total = 0;
+        for (AnalysisConfiguration analysis : configuration.getAnalysisConfigurations()) {
+            for (ToolConfiguration tool : analysis.getTools()) {
+                var action = actions.findAnalysisAction(tool.getId(), log); // the issues of one report at a time
+                if (action.isPresent()) {
+                    var issues = action.get().getResult().getIssues();
+                    total += issues.size();
+                    selector.add(referenceActions == null ? issues
+                            : filterNewIssues(issues, tool, referenceActions, log), analysis);
+                }
+            }
+        }
+        new LogHandler(listener, "Autograding").log(log);
+        return total;
+    }
+
+    private Iterable<Issue> filterNewIssues(final Report issues, final ToolConfiguration tool,
+            final RunActionIndex referenceActions, final FilteredLog log) {
+        return referenceActions.findAnalysisAction(tool.getId(), log)
+                .<Iterable<Issue>>map(reference -> new NewIssueFilter(reference.getResult().getIssues()).filter(issues))
+                .orElse(issues);
+    }
 
-        ChecksDetails details = new ChecksDetailsBuilder()
+    /**
+     * Creates the summary of the annotated new issues. The number of annotated issues is the number of selected
+     * issues, so duplicates and the issues beyond the maximum number of annotations are not counted. The number of
+     * new issues is the number of issues that have been processed by the selector.
+     *
+     * @param selector
+     *         the selector that contains the annotated issues
+     * @param total
+     *         the number of issues in the reports
+     * @param reference
+     *         the name of the reference build
+     *
+     * @return the summary
+     */
+    static String createAnnotationSummary(final AnnotationSelector selector, final int total,
+            final String reference) {
+        return String.format("Annotated %d of %d new issues (%d issues in total, compared with %s)",
+                selector.getSelectedIssues().size(), selector.getTotal(), total, reference);
+    }
+
+    /**
+     * Creates the checks for the specified score: one check for each batch of annotations, or a single check if
+     * there are no annotations. Each update of a check run appends its annotations, so all checks need to be
+     * published in the returned order.
+     *
+     * @param run
+     *         the run that has been graded
+     * @param score
+     *         the score of the run
+     * @param selector
+     *         the selected annotations
+     * @param annotationSummary
+     *         a summary of the annotated issues that is appended to the summary of the score, might be empty
+     *
+     * @return the checks to publish
+     */
+    List<ChecksDetails> createChecks(final Run<?, ?> run, final AggregatedScore score,
+            final AnnotationSelector selector, final String annotationSummary) {
+        var markdown = new ScoreMarkdown(ScoreMarkdown.DEFAULT_BUDGET);
+        var summary = markdown.createSummary(score, annotationSummary);
+        var text = markdown.createDetails(score);
+
+        var batches = selector.getBatches(BATCH_SIZE);
+        if (batches.isEmpty()) {
+            return List.of(createDetails(run, summary, text, List.of()));
+        }
+        List<ChecksDetails> checks = new ArrayList<>();
+        for (List<Issue> batch : batches) {
+            checks.add(createDetails(run, summary, text, createAnnotations(batch)));
+        }
+        return checks;
+    }
+
+    private ChecksDetails createDetails(final Run<?, ?> run, final String summary, final String text,
+            final List<ChecksAnnotation> annotations) {
+        return new ChecksDetailsBuilder()
                 .withName("Autograding")
                 .withStatus(ChecksStatus.COMPLETED)
                 .withConclusion(ChecksConclusion.SUCCESS)
                 .withOutput(new ChecksOutputBuilder()
                         .withTitle("Autograding Results")
-                        .withSummary(report.getTextSummary(score))
-                        .withText(report.getMarkdownDetails(score))
+                        .withSummary(summary)
+                        .withText(text)
+                        .withAnnotations(annotations)
                         .build())
                 .withDetailsURL(getAbsoluteUrl(run))
                 .build();
-
-        publisher.publish(details);
     }
 
     @SuppressWarnings("deprecation")
     private String getAbsoluteUrl(final Run<?, ?> run) {
-        return new JenkinsFacade().getAbsoluteUrl(run.getUrl(), AutoGradingJobAction.ID);
+        return jenkins.getAbsoluteUrl(run.getUrl(), AutoGradingJobAction.ID);
     }
 
-    private List<ChecksAnnotation> createAnnotations(final List<Report> reports) {
-        return reports.stream().flatMap(Report::stream).map(this::createAnnotation).collect(Collectors.toList());
+    private List<ChecksAnnotation> createAnnotations(final List<Issue> issues) {
+        return issues.stream().map(this::createAnnotation).collect(Collectors.toList());
     }
 
     private ChecksAnnotation createAnnotation(final Issue warning) {
         ChecksAnnotationBuilder builder = new ChecksAnnotationBuilder()
                 .withPath(warning.getFileName())
                 .withTitle(warning.getType())
-                .withAnnotationLevel(ChecksAnnotationLevel.WARNING)
-                .withMessage(warning.getSeverity() + ":\n" + parseHtml(warning.getMessage()))
+                .withAnnotationLevel(getAnnotationLevel(warning.getSeverity()))
+                .withMessage(warning.getSeverity() + ":\n" + HtmlText.toText(warning.getMessage()))
                 .withStartLine(warning.getLineStart())
                 .withEndLine(warning.getLineEnd())
                 .withRawDetails(warning.getDescription());
@@ -82,24 +240,13 @@ class AutoGradingChecksPublisher {
         return builder.build();
     }
 
-    private String parseHtml(final String html) {
-        Set<String> contents = new HashSet<>();
-        parseHtml(Jsoup.parse(html), contents);
-        return String.join("\n", contents);
-    }
-
-    private void parseHtml(final Element html, final Set<String> contents) {
-        for (TextNode node : html.textNodes()) {
-            contents.add(node.text().trim());
+    private ChecksAnnotationLevel getAnnotationLevel(final Severity severity) {
+        if (Severity.ERROR.equals(severity) || Severity.WARNING_HIGH.equals(severity)) {
+            return ChecksAnnotationLevel.FAILURE;
         }
-
-        for (Element child : html.children()) {
-            if (child.hasAttr("href")) {
-                contents.add(child.text().trim() + ":" + child.attr("href").trim());
-            }
-            else {
-                parseHtml(child, contents);
-            }
+        if (Severity.WARNING_NORMAL.equals(severity)) {
+            return ChecksAnnotationLevel.WARNING;
         }
+        return ChecksAnnotationLevel.NOTICE;
     }
 }
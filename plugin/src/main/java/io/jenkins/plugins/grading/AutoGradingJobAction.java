@@ -1,9 +1,19 @@
 package io.jenkins.plugins.grading;
 
+import edu.hm.hafner.echarts.JacksonFacade;
 import edu.hm.hafner.grading.AggregatedScore;
 
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+
+import org.kohsuke.stapler.HttpResponse;
+import org.kohsuke.stapler.HttpResponses;
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.bind.JavaScriptMethod;
 import hudson.model.Job;
 
+import io.jenkins.plugins.echarts.AsyncTrendChart;
+import io.jenkins.plugins.grading.ScoreSummary.CategorySummary;
 import io.jenkins.plugins.util.JobAction;
 
 /**
@@ -13,10 +23,14 @@ import io.jenkins.plugins.util.JobAction;
  *
  * @author Eva-Maria Zeintl
  */
-public class AutoGradingJobAction extends JobAction<AutoGradingBuildAction> {
+public class AutoGradingJobAction extends JobAction<AutoGradingBuildAction> implements AsyncTrendChart {
     static final String ICON = "symbol-solid/graduation-cap plugin-font-awesome-api";
     static final String ID = "autograding";
 
+    private static final int MIN_BUILDS_FOR_TREND = 2;
+    private static final int MEDIAN = 50;
+    private static final int P90 = 90;
+
     /**
      * Creates a new instance of {@link AutoGradingJobAction}.
      *
@@ -41,4 +55,82 @@ public class AutoGradingJobAction extends JobAction<AutoGradingBuildAction> {
     public String getUrlName() {
         return ID;
     }
+
+    /**
+     * Returns the title of the trend chart.
+     *
+     * @return the title of the trend chart
+     */
+    public String getTrendName() {
+        return Messages.Trend_Title();
+    }
+
+    /**
+     * Returns whether the trend chart is visible, i.e. whether at least two builds have been graded.
+     *
+     * @return {@code true} if the trend is visible, {@code false} otherwise
+     */
+    @Override
+    public boolean isTrendVisible() {
+        return ScoreColumnStore.latest(getOwner(), MIN_BUILDS_FOR_TREND).size() >= MIN_BUILDS_FOR_TREND;
+    }
+
+    /**
+     * Returns the UI model for the ECharts score trend chart. The model is created from the {@link ScoreColumnStore}
+     * of the job, so only the rows of the latest builds need to be read rather than the results of all builds.
+     *
+     * @return the UI model as JSON
+     */
+    @JavaScriptMethod
+    @Override
+    public String getBuildTrendModel() {
+        return new JacksonFacade().toJson(new ScoreTrendChart()
+                .create(ScoreColumnStore.latest(getOwner(), ScoreTrendChart.DEFAULT_BUILD_COUNT)));
+    }
+
+    /**
+     * Returns the scores of the builds in the specified range of build numbers as JSON. Additionally, the median and
+     * the 90th percentile of the total score (as percentage) of these builds are returned. The scores are read from
+     * the {@link ScoreColumnStore} of the job, so no results of the individual builds need to be loaded.
+     *
+     * @param from
+     *         the first build number (inclusive), 0 to start with the first build
+     * @param to
+     *         the last build number (inclusive), 0 to end with the last build
+     *
+     * @return the scores as JSON
+     */
+    @SuppressWarnings("unused") // Called by the remote API
+    public HttpResponse doScores(@QueryParameter final int from, @QueryParameter final int to) {
+        int last = to <= 0 ? Integer.MAX_VALUE : to;
+
+        var builds = new JSONArray();
+        for (ScoreColumnStore.ScoreRow row : ScoreColumnStore.query(getOwner(), from, last)) {
+            var summary = row.summary();
+            var build = new JSONObject();
+            build.put("number", row.build());
+            build.put("timestamp", row.timestamp());
+            build.put("achieved", summary.getAchieved());
+            build.put("total", summary.getTotal());
+            build.put("tests", toJson(summary.getTests()));
+            build.put("codeCoverage", toJson(summary.getCodeCoverage()));
+            build.put("mutationCoverage", toJson(summary.getMutationCoverage()));
+            build.put("analysis", toJson(summary.getAnalysis()));
+            builds.add(build);
+        }
+
+        var result = new JSONObject();
+        result.put("builds", builds);
+        ScoreColumnStore.percentile(getOwner(), from, last, MEDIAN).ifPresent(value -> result.put("median", value));
+        ScoreColumnStore.percentile(getOwner(), from, last, P90).ifPresent(value -> result.put("p90", value));
+        return HttpResponses.okJSON(result);
+    }
+
+    private JSONObject toJson(final CategorySummary category) {
+        var json = new JSONObject();
+        json.put("available", category.isAvailable());
+        json.put("achieved", category.getAchieved());
+        json.put("max", category.getMax());
+        return json;
+    }
 }
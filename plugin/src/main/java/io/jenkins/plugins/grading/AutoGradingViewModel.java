@@ -29,6 +29,7 @@ public class AutoGradingViewModel implements ModelObject {
 
     private final Run<?, ?> owner;
     private final AggregatedScore score;
+    private final GradingTimings timings;
 
     /**
      * Creates a new instance of {@link AutoGradingViewModel}.
@@ -37,12 +38,15 @@ public class AutoGradingViewModel implements ModelObject {
      *         the build as owner of this view
      * @param score
      *         the scores to show in the view
+     * @param timings
+     *         the timings of the grading phases
      */
-    AutoGradingViewModel(final Run<?, ?> owner, final AggregatedScore score) {
+    AutoGradingViewModel(final Run<?, ?> owner, final AggregatedScore score, final GradingTimings timings) {
         super();
 
         this.owner = owner;
         this.score = score;
+        this.timings = timings;
     }
 
     public Run<?, ?> getOwner() {
@@ -58,6 +62,10 @@ public class AutoGradingViewModel implements ModelObject {
         return score;
     }
 
+    public GradingTimings getTimings() {
+        return timings;
+    }
+
     /**
      * Returns the UI model for an ECharts progress chart.
      *
@@ -117,7 +125,12 @@ public class AutoGradingViewModel implements ModelObject {
     @CheckForNull
     public Object getDynamic(final String link, final StaplerRequest request, final StaplerResponse response) {
         if (INFO_MESSAGES_VIEW_URL.equals(link)) {
-            return new MessagesViewModel(getOwner(), Messages.Action_Name(),
+            var messages = GradingLogStore.read(getOwner().getRootDir().toPath());
+            if (messages.isPresent()) {
+                return new MessagesViewModel(getOwner(), Messages.Action_Name(),
+                        messages.get().infoMessages(), messages.get().errorMessages());
+            }
+            return new MessagesViewModel(getOwner(), Messages.Action_Name(), // builds of older releases
                     score.getInfoMessages(), score.getErrorMessages());
         }
         return null; // fallback on any other URL
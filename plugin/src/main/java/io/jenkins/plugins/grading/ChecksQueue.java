@@ -0,0 +1,252 @@
+package io.jenkins.plugins.grading;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import edu.hm.hafner.util.VisibleForTesting;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+import hudson.init.Terminator;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import jenkins.util.SystemProperties;
+
+import io.jenkins.plugins.checks.api.ChecksDetails;
+import io.jenkins.plugins.checks.api.ChecksPublisher;
+
+/**
+ * Publishes checks on background threads, so that the build does not need to wait for the SCM provider. The checks are
+ * created by the background thread as well: a publication consists of suppliers for the publisher and the checks, so
+ * the build thread neither selects annotations nor renders the details. The number of concurrent publications is
+ * bounded by the number of threads (system property {@code io.jenkins.plugins.grading.ChecksQueue.threads}). The
+ * checks of a run are published one publication after the other: if a new publication for a run is submitted while an
+ * older publication of this run is still queued, then the older publication is superseded and its checks will not even
+ * be created. Failed publications are retried with an exponential backoff (system property
+ * {@code io.jenkins.plugins.grading.ChecksQueue.retries}). Note that only exceptions that escape the
+ * {@link ChecksPublisher} are detected as failures: the publishers of the Checks API do not return a result, and the
+ * SCM provider implementations (e.g., GitHub) catch the errors of the provider and report them to the task listener,
+ * so these failures are neither detected nor retried. All queued publications are published when Jenkins shuts down.
+ *
+ * @author Ullrich Hafner
+ */
+public final class ChecksQueue {
+    private static final Logger LOGGER = Logger.getLogger(ChecksQueue.class.getName());
+    private static final int DEFAULT_THREADS = 2;
+    private static final int DEFAULT_RETRIES = 3;
+    private static final Duration DEFAULT_BACKOFF = Duration.ofSeconds(5);
+    private static final Duration DRAIN_TIMEOUT = Duration.ofMinutes(1);
+    private static final ChecksQueue INSTANCE = new ChecksQueue(Executors.newScheduledThreadPool(
+            SystemProperties.getInteger(ChecksQueue.class.getName() + ".threads", DEFAULT_THREADS),
+            new NamingThreadFactory(new DaemonThreadFactory(), "Autograding checks")),
+            SystemProperties.getInteger(ChecksQueue.class.getName() + ".retries", DEFAULT_RETRIES),
+            DEFAULT_BACKOFF);
+
+    private final ScheduledExecutorService executor;
+    private final int retries;
+    private final Duration backoff;
+    private final Map<String, RunPublications> runs = new HashMap<>(); // guarded by this
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong superseded = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    /**
+     * Returns the shared queue.
+     *
+     * @return the queue
+     */
+    static ChecksQueue get() {
+        return INSTANCE;
+    }
+
+    @VisibleForTesting
+    ChecksQueue(final ScheduledExecutorService executor, final int retries, final Duration backoff) {
+        this.executor = executor;
+        this.retries = retries;
+        this.backoff = backoff;
+    }
+
+    /**
+     * Submits the checks of a run. The publisher and the checks are created on a background thread when the
+     * publication starts, then the checks are published in the given order.
+     *
+     * @param runId
+     *         the ID of the run
+     * @param publisher
+     *         creates the publisher to use
+     * @param checks
+     *         creates the checks to publish
+     */
+    void submit(final String runId, final Supplier<ChecksPublisher> publisher,
+            final Supplier<List<ChecksDetails>> checks) {
+        var publication = new Publication(runId, publisher, checks);
+        synchronized (this) {
+            var publications = runs.computeIfAbsent(runId, key -> new RunPublications());
+            if (publications.active == null) {
+                publications.active = publication;
+                schedule(publication, Duration.ZERO);
+            }
+            else {
+                if (publications.next != null) {
+                    superseded.incrementAndGet();
+                }
+                publications.next = publication;
+                publications.active.superseded = true; // no more retries for outdated checks
+            }
+        }
+    }
+
+    private void schedule(final Publication publication, final Duration delay) {
+        executor.schedule(() -> publish(publication), delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void publish(final Publication publication) {
+        boolean finished = true;
+        try {
+            publication.publishRemainingChecks();
+            published.incrementAndGet();
+        }
+        catch (RuntimeException exception) {
+            publication.attempts++;
+            if (publication.attempts <= retries && !publication.superseded) {
+                var delay = backoff.multipliedBy(1L << (publication.attempts - 1));
+                LOGGER.log(Level.WARNING, String.format("Failed to publish the checks of %s, retrying in %d ms",
+                        publication.runId, delay.toMillis()), exception);
+                retried.incrementAndGet();
+                schedule(publication, delay);
+                finished = false;
+            }
+            else {
+                LOGGER.log(Level.SEVERE, "Failed to publish the checks of " + publication.runId, exception);
+                failed.incrementAndGet();
+            }
+        }
+        catch (Error error) { // NOPMD: the publication is finished below, the error is rethrown
+            failed.incrementAndGet();
+            throw error;
+        }
+        finally {
+            if (finished) { // otherwise the run would stay in the queue forever and block draining
+                finish(publication);
+            }
+        }
+    }
+
+    private synchronized void finish(final Publication publication) {
+        var publications = runs.get(publication.runId);
+        publications.active = publications.next;
+        publications.next = null;
+        if (publications.active == null) {
+            runs.remove(publication.runId);
+            notifyAll();
+        }
+        else {
+            schedule(publications.active, Duration.ZERO);
+        }
+    }
+
+    /**
+     * Waits until all submitted checks have been published or the specified timeout is reached.
+     *
+     * @param timeout
+     *         the maximum time to wait
+     *
+     * @return {@code true} if all checks have been published, {@code false} if the timeout has been reached
+     */
+    synchronized boolean drain(final Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            while (!runs.isEmpty()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+            return true;
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Publishes all queued checks when Jenkins shuts down.
+     */
+    @Terminator
+    @SuppressWarnings("unused") // Called by Jenkins
+    public static void drainOnShutdown() {
+        if (!get().drain(DRAIN_TIMEOUT)) {
+            LOGGER.log(Level.WARNING, "Not all autograding checks have been published before the shutdown");
+        }
+    }
+
+    long getPublishedCount() {
+        return published.get();
+    }
+
+    long getSupersededCount() {
+        return superseded.get();
+    }
+
+    long getRetryCount() {
+        return retried.get();
+    }
+
+    long getFailedCount() {
+        return failed.get();
+    }
+
+    /** The active and the next publication of a run. */
+    private static final class RunPublications {
+        @CheckForNull
+        private Publication active;
+        @CheckForNull
+        private Publication next;
+    }
+
+    /** The checks of a run that should be published. */
+    private static final class Publication {
+        private final String runId;
+        private final Supplier<ChecksPublisher> publisherSupplier;
+        private final Supplier<List<ChecksDetails>> checksSupplier;
+        @CheckForNull
+        private ChecksPublisher publisher; // created by the first attempt
+        @CheckForNull
+        private List<ChecksDetails> checks; // created by the first attempt
+        private int published; // the checks that already have been published are skipped in retries
+        private int attempts;
+        private volatile boolean superseded;
+
+        Publication(final String runId, final Supplier<ChecksPublisher> publisherSupplier,
+                final Supplier<List<ChecksDetails>> checksSupplier) {
+            this.runId = runId;
+            this.publisherSupplier = publisherSupplier;
+            this.checksSupplier = checksSupplier;
+        }
+
+        void publishRemainingChecks() {
+            if (publisher == null) {
+                publisher = publisherSupplier.get();
+            }
+            if (checks == null) {
+                checks = List.copyOf(checksSupplier.get());
+            }
+            while (published < checks.size()) {
+                publisher.publish(checks.get(published));
+                published++;
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package io.jenkins.plugins.grading;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.thoughtworks.xstream.XStreamException;
+
+import edu.hm.hafner.grading.AggregatedScore;
+
+import hudson.util.XStream2;
+
+/**
+ * Reads and writes {@link AggregatedScore} instances in a compact, compressed file format. The file starts with a
+ * header that consists of a magic number and the version of the format. In version 1 of the format the header is
+ * followed by the GZIP compressed XML representation of the score (using the same XStream aliases as
+ * {@link AggregatedScoreXmlStream}).
+ *
+ * <p>
+ * Builds that have been recorded with an older release of this plugin store the score in a plain XML file
+ * ({@value #LEGACY_FILE_NAME}). If the compressed file does not exist, then the score is read from this XML file.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+class CompressedScoreStream extends AggregatedScoreXmlStream {
+    private static final Logger LOGGER = Logger.getLogger(CompressedScoreStream.class.getName());
+
+    static final String FILE_NAME = "auto-grading.bin";
+    static final String LEGACY_FILE_NAME = "auto-grading.xml";
+
+    private static final byte[] MAGIC = {'A', 'G', 'R', 'D'};
+    private static final int VERSION = 1;
+
+    private final XStream2 xStream = new XStream2();
+
+    /**
+     * Creates a new {@link CompressedScoreStream}.
+     */
+    CompressedScoreStream() {
+        super();
+
+        xStream.processAnnotations(AggregatedScore.class);
+        configureXStream(xStream);
+    }
+
+    @Override
+    public AggregatedScore read(final Path file) {
+        if (Files.isReadable(file)) {
+            return readCompressed(file);
+        }
+        var legacyFile = file.resolveSibling(LEGACY_FILE_NAME);
+        if (Files.isReadable(legacyFile)) {
+            return super.read(legacyFile);
+        }
+        return super.read(file); // will report the missing file and return the default value
+    }
+
+    private AggregatedScore readCompressed(final Path file) {
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(file))) {
+            var header = input.readNBytes(MAGIC.length + 1);
+            if (header.length < MAGIC.length + 1 || !Arrays.equals(MAGIC, Arrays.copyOf(header, MAGIC.length))) {
+                return super.read(file); // plain XML file
+            }
+            int version = header[MAGIC.length];
+            if (version != VERSION) {
+                LOGGER.log(Level.SEVERE, "Unsupported version {0} of the auto-grading file {1}",
+                        new Object[] {version, file});
+                return createDefaultValue();
+            }
+            try (Reader reader = new InputStreamReader(new GZIPInputStream(input), StandardCharsets.UTF_8)) {
+                return (AggregatedScore) xStream.fromXML(reader);
+            }
+        }
+        catch (IOException | XStreamException | ClassCastException exception) {
+            LOGGER.log(Level.SEVERE, "Failed to read the auto-grading file " + file, exception);
+            return createDefaultValue();
+        }
+    }
+
+    @Override
+    public void write(final Path file, final AggregatedScore score) {
+        try {
+            writeCompressed(file, score);
+        }
+        catch (IOException exception) {
+            LOGGER.log(Level.SEVERE, "Failed to write the auto-grading file " + file, exception);
+        }
+    }
+
+    /**
+     * Writes the specified score to the specified file. The score is written to a temporary file first that replaces
+     * the file afterward, so the file is either completely written or not changed at all.
+     *
+     * @param file
+     *         the file to write the score to
+     * @param score
+     *         the score to write
+     *
+     * @throws IOException
+     *         if the score can't be written
+     */
+    void writeCompressed(final Path file, final AggregatedScore score) throws IOException {
+        Path temporary = null;
+        try {
+            temporary = Files.createTempFile(file.toAbsolutePath().getParent(), FILE_NAME, ".tmp");
+            try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(temporary))) {
+                output.write(MAGIC);
+                output.write(VERSION);
+                try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(output), StandardCharsets.UTF_8)) {
+                    xStream.toXML(score, writer);
+                }
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (XStreamException exception) {
+            throw new IOException("Can't serialize the score for " + file, exception);
+        }
+        finally {
+            delete(temporary); // the temporary file still exists if the file has not been written
+        }
+    }
+
+    private void delete(final Path temporary) {
+        if (temporary != null) {
+            try {
+                Files.deleteIfExists(temporary);
+            }
+            catch (IOException exception) {
+                LOGGER.log(Level.WARNING, "Failed to delete the temporary file " + temporary, exception);
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package io.jenkins.plugins.grading;
+
+import com.thoughtworks.xstream.converters.Converter;
+import com.thoughtworks.xstream.converters.MarshallingContext;
+import com.thoughtworks.xstream.converters.UnmarshallingContext;
+import com.thoughtworks.xstream.converters.reflection.ReflectionConverter;
+import com.thoughtworks.xstream.converters.reflection.ReflectionProvider;
+import com.thoughtworks.xstream.io.HierarchicalStreamReader;
+import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+import com.thoughtworks.xstream.mapper.Mapper;
+
+import edu.hm.hafner.util.FilteredLog;
+
+/**
+ * Omits the messages of a {@link FilteredLog} when a score is persisted: the messages are stored separately by the
+ * {@link GradingLogStore}. Scores that have been persisted by an older release of this plugin still contain the
+ * messages, these logs are read with the default reflection based converter.
+ *
+ * @author Ullrich Hafner
+ */
+class FilteredLogConverter implements Converter {
+    private final ReflectionConverter legacyConverter;
+
+    FilteredLogConverter(final Mapper mapper, final ReflectionProvider reflectionProvider) {
+        legacyConverter = new ReflectionConverter(mapper, reflectionProvider, FilteredLog.class);
+    }
+
+    @Override
+    public boolean canConvert(final Class type) {
+        return type == FilteredLog.class;
+    }
+
+    @Override
+    public void marshal(final Object source, final HierarchicalStreamWriter writer,
+            final MarshallingContext context) {
+        // the messages are stored in a separate file
+    }
+
+    @Override
+    public Object unmarshal(final HierarchicalStreamReader reader, final UnmarshallingContext context) {
+        if (reader.hasMoreChildren()) {
+            return legacyConverter.unmarshal(reader, context);
+        }
+        return new FilteredLog(AutoGrader.LOG_TITLE);
+    }
+}
@@ -0,0 +1,116 @@
+package io.jenkins.plugins.grading;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import edu.hm.hafner.grading.AnalysisConfiguration;
+import edu.hm.hafner.grading.Configuration;
+import edu.hm.hafner.grading.CoverageConfiguration;
+import edu.hm.hafner.grading.TestConfiguration;
+import edu.hm.hafner.grading.ToolConfiguration;
+
+/**
+ * A parsed and validated grading configuration. Instances are immutable and can be shared by all builds that use the
+ * same JSON configuration, see {@link GradingConfigurationCache}. The hash of the configuration is required for
+ * incremental grading only, so it is computed on first use.
+ *
+ * @author Ullrich Hafner
+ */
+final class GradingConfiguration {
+    private final String json;
+    private volatile String hash;
+    private final List<AnalysisConfiguration> analysisConfigurations;
+    private final List<CoverageConfiguration> coverageConfigurations;
+    private final List<TestConfiguration> testConfigurations;
+    private final List<ToolConfiguration> analysisTools;
+    private final List<ToolConfiguration> coverageTools;
+    private final List<ToolConfiguration> testTools;
+
+    /**
+     * Parses the specified JSON configuration.
+     *
+     * @param json
+     *         the configuration in JSON format
+     *
+     * @return the parsed configuration
+     */
+    static GradingConfiguration parse(final String json) {
+        return new GradingConfiguration(json);
+    }
+
+    /**
+     * Computes the hash of the specified JSON configuration.
+     *
+     * @param json
+     *         the configuration in JSON format
+     *
+     * @return the SHA-256 hash of the configuration
+     */
+    static String hash(final String json) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(json.getBytes(StandardCharsets.UTF_8)));
+        }
+        catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not supported by this JVM", exception);
+        }
+    }
+
+    private GradingConfiguration(final String json) {
+        this.json = json;
+
+        analysisConfigurations = List.copyOf(AnalysisConfiguration.from(json));
+        coverageConfigurations = List.copyOf(CoverageConfiguration.from(json));
+        testConfigurations = List.copyOf(TestConfiguration.from(json));
+
+        analysisTools = getTools(analysisConfigurations);
+        coverageTools = getTools(coverageConfigurations);
+        testTools = getTools(testConfigurations);
+    }
+
+    private static List<ToolConfiguration> getTools(final List<? extends Configuration> configurations) {
+        return configurations.stream()
+                .map(Configuration::getTools)
+                .flatMap(List::stream)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    String getJson() {
+        return json;
+    }
+
+    String getHash() {
+        if (hash == null) {
+            hash = hash(json);
+        }
+        return hash;
+    }
+
+    List<AnalysisConfiguration> getAnalysisConfigurations() {
+        return analysisConfigurations;
+    }
+
+    List<CoverageConfiguration> getCoverageConfigurations() {
+        return coverageConfigurations;
+    }
+
+    List<TestConfiguration> getTestConfigurations() {
+        return testConfigurations;
+    }
+
+    List<ToolConfiguration> getAnalysisTools() {
+        return analysisTools;
+    }
+
+    List<ToolConfiguration> getCoverageTools() {
+        return coverageTools;
+    }
+
+    List<ToolConfiguration> getTestTools() {
+        return testTools;
+    }
+}
@@ -0,0 +1,98 @@
+package io.jenkins.plugins.grading;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import jenkins.util.SystemProperties;
+
+/**
+ * Controller-wide cache of parsed and validated {@link GradingConfiguration grading configurations}. The configurations
+ * are identified by their JSON content, so all jobs that use the same configuration share a single parsed instance.
+ * The number of cached configurations is bounded, the least recently used configuration is evicted first. The capacity
+ * can be changed with the system property {@code io.jenkins.plugins.grading.GradingConfigurationCache.capacity}.
+ *
+ * <p>
+ * The cache provides the tools and configurations that the plugin itself requires (prefetching, fingerprints, and
+ * checks). It does not avoid parsing the configuration for each build: the grading model accepts the raw JSON
+ * configuration only, so the {@link edu.hm.hafner.grading.AggregatedScore} of every build still parses its own copy.
+ * So the cache saves the second parse of the configuration per build, while a lookup costs a comparison of the JSON
+ * content only.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+final class GradingConfigurationCache {
+    private static final Logger LOGGER = Logger.getLogger(GradingConfigurationCache.class.getName());
+    private static final int DEFAULT_CAPACITY = 100;
+    private static final GradingConfigurationCache INSTANCE = new GradingConfigurationCache(
+            SystemProperties.getInteger(GradingConfigurationCache.class.getName() + ".capacity", DEFAULT_CAPACITY));
+
+    private final Map<String, GradingConfiguration> configurations;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Returns the controller-wide cache.
+     *
+     * @return the cache
+     */
+    static GradingConfigurationCache get() {
+        return INSTANCE;
+    }
+
+    GradingConfigurationCache(final int capacity) {
+        configurations = new LinkedHashMap<>(capacity, 0.75f, true) {
+            private static final long serialVersionUID = 4431216567463217788L;
+
+            @Override
+            protected boolean removeEldestEntry(final Entry<String, GradingConfiguration> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the parsed configuration for the specified JSON configuration. If the configuration is not yet part of
+     * the cache, it will be parsed and added to the cache.
+     *
+     * @param json
+     *         the configuration in JSON format
+     *
+     * @return the parsed configuration
+     */
+    GradingConfiguration compile(final String json) {
+        synchronized (configurations) {
+            var cached = configurations.get(json);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+        }
+        misses.incrementAndGet();
+        var compiled = GradingConfiguration.parse(json);
+        synchronized (configurations) {
+            configurations.put(json, compiled);
+        }
+        LOGGER.log(Level.FINE, "Compiled grading configuration (hits: {0}, misses: {1})",
+                new Object[] {getHitCount(), getMissCount()});
+        return compiled;
+    }
+
+    long getHitCount() {
+        return hits.get();
+    }
+
+    long getMissCount() {
+        return misses.get();
+    }
+
+    int size() {
+        synchronized (configurations) {
+            return configurations.size();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package io.jenkins.plugins.grading;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import jenkins.util.SystemProperties;
+
+/**
+ * Provides the controller-wide executor that loads the reports of the graded tools in parallel. The number of threads
+ * is bounded and can be changed with the system property {@code io.jenkins.plugins.grading.GradingExecutor.threads}.
+ *
+ * @author Ullrich Hafner
+ */
+final class GradingExecutor {
+    private static final int DEFAULT_THREADS = 4;
+
+    /**
+     * Returns the shared executor.
+     *
+     * @return the executor
+     */
+    static ExecutorService get() {
+        return Holder.EXECUTOR;
+    }
+
+    private GradingExecutor() {
+        // prevents instantiation
+    }
+
+    /** Creates the executor on first use. */
+    private static final class Holder {
+        private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+                SystemProperties.getInteger(GradingExecutor.class.getName() + ".threads", DEFAULT_THREADS),
+                new NamingThreadFactory(new DaemonThreadFactory(), "Autograding"));
+    }
+}
@@ -0,0 +1,173 @@
+package io.jenkins.plugins.grading;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import edu.hm.hafner.util.FilteredLog;
+
+import jenkins.util.SystemProperties;
+
+/**
+ * Stores the info and error messages of a grading run in a separate file of the build. The messages are required only
+ * by the log messages view, so they are not part of the persisted score and are loaded only on demand. By default, the
+ * messages are compressed. Compression can be disabled with the system property
+ * {@code io.jenkins.plugins.grading.GradingLogStore.compress}.
+ *
+ * <p>
+ * The file starts with a magic number, the version of the format, and a flag that indicates whether the remaining
+ * content is GZIP compressed. The content consists of the info messages followed by the error messages, each list
+ * prefixed with its size and each message prefixed with the length of its UTF-8 encoding.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+final class GradingLogStore {
+    private static final Logger LOGGER = Logger.getLogger(GradingLogStore.class.getName());
+
+    static final String FILE_NAME = "auto-grading.log";
+
+    private static final byte[] MAGIC = {'A', 'G', 'L', 'G'};
+    private static final int VERSION = 1;
+    private static final int COMPRESSED = 1;
+
+    private GradingLogStore() {
+        // prevents instantiation
+    }
+
+    /**
+     * Writes the messages of the specified log to the specified build directory.
+     *
+     * @param buildDirectory
+     *         the root directory of the build
+     * @param log
+     *         the log with the messages to store
+     */
+    static void write(final Path buildDirectory, final FilteredLog log) {
+        write(buildDirectory, log.getInfoMessages(), log.getErrorMessages());
+    }
+
+    static void write(final Path buildDirectory, final FilteredLog log, final boolean compress) {
+        write(buildDirectory, log.getInfoMessages(), log.getErrorMessages(), compress);
+    }
+
+    /**
+     * Writes the specified messages to the specified build directory.
+     *
+     * @param buildDirectory
+     *         the root directory of the build
+     * @param infoMessages
+     *         the info messages to store
+     * @param errorMessages
+     *         the error messages to store
+     */
+    static void write(final Path buildDirectory, final List<String> infoMessages, final List<String> errorMessages) {
+        write(buildDirectory, infoMessages, errorMessages,
+                SystemProperties.getBoolean(GradingLogStore.class.getName() + ".compress", true));
+    }
+
+    private static void write(final Path buildDirectory, final List<String> infoMessages,
+            final List<String> errorMessages, final boolean compress) {
+        var file = buildDirectory.resolve(FILE_NAME);
+        try {
+            var temporary = Files.createTempFile(buildDirectory, FILE_NAME, ".tmp");
+            try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(temporary))) {
+                output.write(MAGIC);
+                output.write(VERSION);
+                output.write(compress ? COMPRESSED : 0);
+                try (var content = new DataOutputStream(compress ? new GZIPOutputStream(output) : output)) {
+                    writeMessages(content, infoMessages);
+                    writeMessages(content, errorMessages);
+                }
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException exception) {
+            LOGGER.log(Level.SEVERE, "Failed to write the auto-grading log " + file, exception);
+        }
+    }
+
+    private static void writeMessages(final DataOutputStream output, final List<String> messages)
+            throws IOException {
+        output.writeInt(messages.size());
+        for (String message : messages) {
+            var bytes = message.getBytes(StandardCharsets.UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+    }
+
+    /**
+     * Reads the messages from the specified build directory.
+     *
+     * @param buildDirectory
+     *         the root directory of the build
+     *
+     * @return the messages, or an empty optional if the build has no (readable) log file
+     */
+    static Optional<LogMessages> read(final Path buildDirectory) {
+        var file = buildDirectory.resolve(FILE_NAME);
+        if (!Files.isReadable(file)) {
+            return Optional.empty();
+        }
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(file))) {
+            var header = input.readNBytes(MAGIC.length + 2);
+            if (header.length < MAGIC.length + 2 || !Arrays.equals(MAGIC, Arrays.copyOf(header, MAGIC.length))
+                    || header[MAGIC.length] != VERSION) {
+                LOGGER.log(Level.SEVERE, "Unsupported format of the auto-grading log {0}", file);
+                return Optional.empty();
+            }
+            boolean compressed = header[MAGIC.length + 1] == COMPRESSED;
+            try (var content = new DataInputStream(compressed ? new GZIPInputStream(input) : input)) {
+                var info = readMessages(content);
+                var errors = readMessages(content);
+                return Optional.of(new LogMessages(info, errors));
+            }
+        }
+        catch (IOException exception) {
+            LOGGER.log(Level.SEVERE, "Failed to read the auto-grading log " + file, exception);
+            return Optional.empty();
+        }
+    }
+
+    private static List<String> readMessages(final DataInputStream input) throws IOException {
+        int size = input.readInt();
+        List<String> messages = new ArrayList<>(Math.min(size, 1024));
+        for (int i = 0; i < size; i++) {
+            var bytes = input.readNBytes(input.readInt());
+            messages.add(new String(bytes, StandardCharsets.UTF_8));
+        }
+        return messages;
+    }
+
+    /**
+     * The info and error messages of a grading run.
+     *
+     * @param infoMessages
+     *         the info messages
+     * @param errorMessages
+     *         the error messages
+     */
+    record LogMessages(List<String> infoMessages, List<String> errorMessages) {
+        LogMessages {
+            infoMessages = List.copyOf(infoMessages);
+            errorMessages = List.copyOf(errorMessages);
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package io.jenkins.plugins.grading;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import edu.hm.hafner.grading.ToolConfiguration;
+import edu.hm.hafner.util.FilteredLog;
+
+import org.kohsuke.stapler.export.Exported;
+import org.kohsuke.stapler.export.ExportedBean;
+
+/**
+ * Wall-clock times and approximate allocations of the phases of a grading run. Each timing is recorded for a phase
+ * and optionally for a category and a tool. The allocations are measured with the thread allocation counters of the
+ * JVM: if these counters are not available, then the allocated bytes are reported as {@code -1}.
+ *
+ * <p>
+ * The recorded phases are:
+ * </p>
+ * <ul>
+ *     <li>{@link Phase#LOOKUP}: finding the results of the tools in the actions of the build</li>
+ *     <li>{@link Phase#LOADING}: loading (or parsing) the report of a tool</li>
+ *     <li>{@link Phase#SCORING}: computing the scores of a category, without the loading time of the reports</li>
+ *     <li>{@link Phase#PERSISTENCE}: writing the result of the build</li>
+ *     <li>{@link Phase#CHECKS}: publishing the checks of the build</li>
+ * </ul>
+ *
+ * <p>
+ * Timings are recorded concurrently if the reports are loaded concurrently, so all methods are thread safe.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+@ExportedBean
+public class GradingTimings implements Serializable {
+    @Serial
+    private static final long serialVersionUID = -4328190547282961137L;
+
+    static final String ANALYSIS = "analysis";
+    static final String COVERAGE = "coverage";
+    static final String TESTS = "tests";
+
+    /** The phases of a grading run. */
+    public enum Phase {
+        LOOKUP, LOADING, SCORING, PERSISTENCE, CHECKS
+    }
+
+    private final List<Timing> timings = new ArrayList<>();
+
+    /**
+     * Returns all recorded timings in the order of their completion.
+     *
+     * @return the timings
+     */
+    @Exported(inline = true)
+    public synchronized List<Timing> getTimings() {
+        return List.copyOf(timings);
+    }
+
+    /**
+     * Returns the total wall-clock time of all timings of the specified phase.
+     *
+     * @param phase
+     *         the phase
+     *
+     * @return the total duration in milliseconds
+     */
+    public synchronized long getTotalMillis(final Phase phase) {
+        return TimeUnit.NANOSECONDS.toMillis(timings.stream()
+                .filter(timing -> timing.getPhase() == phase)
+                .mapToLong(Timing::getDurationNanos)
+                .sum());
+    }
+
+    public synchronized boolean isEmpty() {
+        return timings.isEmpty();
+    }
+
+    synchronized void record(final Phase phase, final String category, final String tool,
+            final long durationNanos, final long allocatedBytes) {
+        timings.add(new Timing(phase, category, tool, durationNanos, allocatedBytes));
+    }
+
+    /**
+     * Runs the specified action and records its timing.
+     *
+     * @param phase
+     *         the phase of the action
+     * @param action
+     *         the action to run
+     */
+    void measure(final Phase phase, final Runnable action) {
+        measure(phase, "", "", () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs the specified action and records its timing.
+     *
+     * @param phase
+     *         the phase of the action
+     * @param category
+     *         the category of the action, might be empty
+     * @param tool
+     *         the ID of the tool, might be empty
+     * @param action
+     *         the action to run
+     * @param <T>
+     *         the type of the result of the action
+     *
+     * @return the result of the action
+     */
+    <T> T measure(final Phase phase, final String category, final String tool, final Supplier<T> action) {
+        var stopwatch = new Stopwatch();
+        try {
+            return action.get();
+        }
+        finally {
+            record(phase, category, tool, stopwatch.getElapsedNanos(), stopwatch.getAllocatedBytes());
+        }
+    }
+
+    /**
+     * Decorates the specified report loader so that the loading time of every tool is recorded.
+     *
+     * @param category
+     *         the category of the loaded reports
+     * @param loader
+     *         the loader to decorate
+     * @param <T>
+     *         the type of the reports
+     *
+     * @return the decorated loader
+     */
+    <T> BiFunction<ToolConfiguration, FilteredLog, T> measureLoading(final String category,
+            final BiFunction<ToolConfiguration, FilteredLog, T> loader) {
+        return (tool, log) -> measure(Phase.LOADING, category, tool.getId(), () -> loader.apply(tool, log));
+    }
+
+    /**
+     * Runs the grading of a category and records the scoring time. The time the grading spends waiting for the
+     * reports of the specified loader is not part of the scoring time, since loading is recorded separately.
+     *
+     * @param category
+     *         the graded category
+     * @param loader
+     *         the loader of the reports
+     * @param grading
+     *         the grading that will be invoked with the loader
+     * @param <T>
+     *         the type of the reports
+     */
+    <T> void measureScoring(final String category, final BiFunction<ToolConfiguration, FilteredLog, T> loader,
+            final Consumer<BiFunction<ToolConfiguration, FilteredLog, T>> grading) {
+        var loadingNanos = new AtomicLong();
+        var loadingBytes = new AtomicLong();
+        BiFunction<ToolConfiguration, FilteredLog, T> measuredLoader = (tool, log) -> {
+            var stopwatch = new Stopwatch();
+            try {
+                return loader.apply(tool, log);
+            }
+            finally {
+                loadingNanos.addAndGet(stopwatch.getElapsedNanos());
+                loadingBytes.addAndGet(stopwatch.getAllocatedBytes());
+            }
+        };
+
+        var stopwatch = new Stopwatch();
+        try {
+            grading.accept(measuredLoader);
+        }
+        finally {
+            var allocated = stopwatch.getAllocatedBytes();
+            record(Phase.SCORING, category, "",
+                    Math.max(0, stopwatch.getElapsedNanos() - loadingNanos.get()),
+                    allocated < 0 ? allocated : Math.max(0, allocated - loadingBytes.get()));
+        }
+    }
+
+    /**
+     * Appends all timings of the specified other instance.
+     *
+     * @param other
+     *         the timings to append
+     */
+    void addAll(final GradingTimings other) {
+        var others = other.getTimings();
+        synchronized (this) {
+            timings.addAll(others);
+        }
+    }
+
+    /**
+     * A single timing of a phase.
+     */
+    @ExportedBean(defaultVisibility = 2)
+    public static final class Timing implements Serializable {
+        @Serial
+        private static final long serialVersionUID = 2279524372618133454L;
+
+        private final Phase phase;
+        private final String category;
+        private final String tool;
+        private final long durationNanos;
+        private final long allocatedBytes;
+
+        Timing(final Phase phase, final String category, final String tool,
+                final long durationNanos, final long allocatedBytes) {
+            this.phase = phase;
+            this.category = category;
+            this.tool = tool;
+            this.durationNanos = durationNanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        @Exported
+        public Phase getPhase() {
+            return phase;
+        }
+
+        @Exported
+        public String getCategory() {
+            return category;
+        }
+
+        @Exported
+        public String getTool() {
+            return tool;
+        }
+
+        @Exported
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        @Exported
+        public long getDurationMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        }
+
+        /**
+         * Returns the number of bytes that have been allocated by the measuring thread in this phase.
+         *
+         * @return the allocated bytes, or {@code -1} if the JVM does not support measuring allocations
+         */
+        @Exported
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s[%s/%s]: %d ms, %d bytes", phase, category, tool, getDurationMillis(),
+                    allocatedBytes);
+        }
+    }
+
+    /**
+     * Measures the elapsed time and the allocated bytes of the current thread.
+     */
+    private static class Stopwatch {
+        private final long startNanos = System.nanoTime();
+        private final long startBytes = getAllocatedBytesOfCurrentThread();
+
+        long getElapsedNanos() {
+            return System.nanoTime() - startNanos;
+        }
+
+        long getAllocatedBytes() {
+            if (startBytes < 0) {
+                return -1;
+            }
+            var current = getAllocatedBytesOfCurrentThread();
+            return current < 0 ? -1 : current - startBytes;
+        }
+
+        private static long getAllocatedBytesOfCurrentThread() {
+            if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                    && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+                return bean.getCurrentThreadAllocatedBytes();
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package io.jenkins.plugins.grading;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+import edu.hm.hafner.util.VisibleForTesting;
+
+/**
+ * Converts the HTML messages of static analysis tools to plain text. The converter supports the small set of tags that
+ * is used by these tools (paragraphs, lists, line breaks, links, inline formatting, code blocks) in a single pass over
+ * the message, so it is considerably faster than parsing the message into a DOM. Block elements start a new line, the
+ * whitespace within a line is collapsed, and links are converted to {@code text:target}. The whitespace and line
+ * breaks of code blocks ({@code pre}) are preserved. Other tags are skipped, the text of {@code script} and
+ * {@code style} elements is removed.
+ *
+ * <p>
+ * Many issues share the same message (e.g., the description of a rule), so the converted texts of short messages are
+ * cached in a small LRU cache.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+final class HtmlText {
+    private static final int CACHE_SIZE = 256;
+    private static final int MAX_CACHED_LENGTH = 4096;
+    private static final int MAX_ENTITY_LENGTH = 10;
+    private static final Map<String, String> CACHE = new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+        private static final long serialVersionUID = -2383126372207233470L;
+
+        @Override
+        protected boolean removeEldestEntry(final Entry<String, String> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private static final Set<String> BLOCK_TAGS = Set.of("br", "p", "div", "li", "ul", "ol", "dl", "dt", "dd",
+            "pre", "table", "tr", "blockquote", "h1", "h2", "h3", "h4", "h5", "h6", "hr");
+    private static final Set<String> SKIPPED_CONTENT_TAGS = Set.of("script", "style");
+
+    private HtmlText() {
+        // prevents instantiation
+    }
+
+    /**
+     * Converts the specified HTML message to plain text.
+     *
+     * @param html
+     *         the HTML message
+     *
+     * @return the plain text
+     */
+    static String toText(final String html) {
+        if (html.length() > MAX_CACHED_LENGTH) {
+            return convert(html);
+        }
+        synchronized (CACHE) {
+            var cached = CACHE.get(html);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        var text = convert(html);
+        synchronized (CACHE) {
+            CACHE.put(html, text);
+        }
+        return text;
+    }
+
+    @VisibleForTesting
+    static String convert(final String html) {
+        var text = new TextBuilder(html.length());
+        int length = html.length();
+        int position = 0;
+        String href = null;
+        while (position < length) {
+            char c = html.charAt(position);
+            if (c == '<' && isTagStart(html, position + 1)) {
+                int end = html.indexOf('>', position);
+                if (end < 0) {
+                    text.append(html, position, length); // not a tag
+                    break;
+                }
+                if (html.startsWith("<!--", position)) {
+                    int commentEnd = html.indexOf("-->", position);
+                    position = commentEnd < 0 ? length : commentEnd + 3;
+                    continue;
+                }
+                var tag = html.substring(position + 1, end);
+                var name = getTagName(tag);
+                boolean closing = tag.startsWith("/");
+                if ("a".equals(name)) {
+                    if (closing && href != null) {
+                        text.appendLink(href);
+                        href = null;
+                    }
+                    else if (!closing) {
+                        href = getAttribute(tag, "href");
+                    }
+                }
+                else if (BLOCK_TAGS.contains(name)) {
+                    text.newLine();
+                    if ("pre".equals(name)) {
+                        text.setPreformatted(!closing);
+                    }
+                }
+                else if (!closing && SKIPPED_CONTENT_TAGS.contains(name)) {
+                    int contentEnd = html.toLowerCase(Locale.ENGLISH).indexOf("</" + name, end);
+                    int closingEnd = contentEnd < 0 ? -1 : html.indexOf('>', contentEnd);
+                    end = closingEnd < 0 ? length - 1 : closingEnd;
+                }
+                position = end + 1;
+            }
+            else if (c == '&') {
+                position = decodeEntity(html, position, text::appendCodePoint);
+            }
+            else {
+                text.append(c);
+                position++;
+            }
+        }
+        if (href != null) {
+            text.appendLink(href);
+        }
+        return text.toString();
+    }
+
+    private static boolean isTagStart(final String html, final int position) {
+        if (position >= html.length()) {
+            return false;
+        }
+        char c = html.charAt(position);
+        return Character.isLetter(c) || c == '/' || c == '!';
+    }
+
+    private static String getTagName(final String tag) {
+        int start = tag.startsWith("/") ? 1 : 0;
+        int end = start;
+        while (end < tag.length() && Character.isLetterOrDigit(tag.charAt(end))) {
+            end++;
+        }
+        return tag.substring(start, end).toLowerCase(Locale.ENGLISH);
+    }
+
+    private static String getAttribute(final String tag, final String attribute) {
+        var lowerCase = tag.toLowerCase(Locale.ENGLISH);
+        int index = lowerCase.indexOf(attribute);
+        while (index >= 0) {
+            int position = index + attribute.length();
+            while (position < tag.length() && Character.isWhitespace(tag.charAt(position))) {
+                position++;
+            }
+            if (index > 0 && Character.isWhitespace(tag.charAt(index - 1))
+                    && position < tag.length() && tag.charAt(position) == '=') {
+                return getAttributeValue(tag, position + 1);
+            }
+            index = lowerCase.indexOf(attribute, index + 1);
+        }
+        return null;
+    }
+
+    private static String getAttributeValue(final String tag, final int start) {
+        int position = start;
+        while (position < tag.length() && Character.isWhitespace(tag.charAt(position))) {
+            position++;
+        }
+        if (position >= tag.length()) {
+            return "";
+        }
+        char quote = tag.charAt(position);
+        int end;
+        if (quote == '"' || quote == '\'') {
+            position++;
+            end = tag.indexOf(quote, position);
+            if (end < 0) {
+                end = tag.length();
+            }
+        }
+        else {
+            end = position;
+            while (end < tag.length() && !Character.isWhitespace(tag.charAt(end)) && tag.charAt(end) != '/') {
+                end++;
+            }
+        }
+        return decodeEntities(tag.substring(position, end)).trim();
+    }
+
+    private static String decodeEntities(final String value) {
+        if (value.indexOf('&') < 0) {
+            return value;
+        }
+        var decoded = new StringBuilder(value.length());
+        int position = 0;
+        while (position < value.length()) {
+            char c = value.charAt(position);
+            if (c == '&') {
+                position = decodeEntity(value, position, decoded::appendCodePoint);
+            }
+            else {
+                decoded.append(c);
+                position++;
+            }
+        }
+        return decoded.toString();
+    }
+
+    /**
+     * Decodes the entity at the specified position and appends the decoded characters to the text.
+     *
+     * @return the position after the entity
+     */
+    private static int decodeEntity(final String html, final int position, final IntConsumer text) {
+        int end = html.indexOf(';', position);
+        int codePoint = end < 0 || end - position > MAX_ENTITY_LENGTH
+                ? -1 : decodeCodePoint(html.substring(position + 1, end));
+        if (codePoint < 0) {
+            text.accept('&'); // not an entity
+            return position + 1;
+        }
+        text.accept(codePoint);
+        return end + 1;
+    }
+
+    private static int decodeCodePoint(final String entity) {
+        switch (entity) {
+            case "lt":
+                return '<';
+            case "gt":
+                return '>';
+            case "amp":
+                return '&';
+            case "quot":
+                return '"';
+            case "apos":
+                return '\'';
+            case "nbsp":
+                return ' ';
+            default:
+                break;
+        }
+        try {
+            if (entity.startsWith("#x") || entity.startsWith("#X")) {
+                return toCodePoint(Integer.parseInt(entity.substring(2), 16));
+            }
+            if (entity.startsWith("#")) {
+                return toCodePoint(Integer.parseInt(entity.substring(1)));
+            }
+        }
+        catch (NumberFormatException exception) {
+            // not a numeric entity
+        }
+        return -1;
+    }
+
+    private static int toCodePoint(final int value) {
+        return Character.isValidCodePoint(value) ? value : -1;
+    }
+
+    /**
+     * Collects the text: whitespace is collapsed to a single space, empty lines are skipped, and lines are trimmed.
+     * Preformatted text is appended as is.
+     */
+    private static final class TextBuilder {
+        private final StringBuilder text;
+        private boolean pendingSpace;
+        private boolean pendingNewLine;
+        private boolean preformatted;
+
+        TextBuilder(final int capacity) {
+            text = new StringBuilder(capacity);
+        }
+
+        void append(final String html, final int start, final int end) {
+            for (int i = start; i < end; i++) {
+                append(html.charAt(i));
+            }
+        }
+
+        void append(final char c) {
+            appendCodePoint(c);
+        }
+
+        void appendCodePoint(final int codePoint) {
+            if (preformatted) {
+                appendPreformatted(codePoint);
+                return;
+            }
+            if (Character.isWhitespace(codePoint)) {
+                pendingSpace = true;
+                return;
+            }
+            appendSeparator();
+            text.appendCodePoint(codePoint);
+        }
+
+        private void appendPreformatted(final int codePoint) {
+            if (codePoint == '\r') {
+                return;
+            }
+            if (codePoint == '\n' && pendingNewLine) { // line break of the enclosing block
+                appendSeparator();
+                return;
+            }
+            appendSeparator();
+            text.appendCodePoint(codePoint);
+        }
+
+        void appendLink(final String href) {
+            if (!href.isEmpty()) {
+                pendingSpace = false;
+                appendSeparator();
+                text.append(':').append(href);
+            }
+        }
+
+        private void appendSeparator() {
+            if (!text.isEmpty()) {
+                if (pendingNewLine) {
+                    if (!endsWithNewLine()) {
+                        text.append('\n');
+                    }
+                }
+                else if (pendingSpace) {
+                    text.append(' ');
+                }
+            }
+            pendingSpace = false;
+            pendingNewLine = false;
+        }
+
+        private boolean endsWithNewLine() {
+            return text.charAt(text.length() - 1) == '\n';
+        }
+
+        void newLine() {
+            pendingNewLine = true;
+        }
+
+        void setPreformatted(final boolean preformatted) {
+            this.preformatted = preformatted;
+        }
+
+        @Override
+        public String toString() {
+            int end = text.length();
+            while (end > 0 && text.charAt(end - 1) == '\n') {
+                end--;
+            }
+            return text.substring(0, end);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package io.jenkins.plugins.grading;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.apache.commons.lang3.StringUtils;
+
+import edu.hm.hafner.analysis.Severity;
+import edu.hm.hafner.coverage.Coverage;
+import edu.hm.hafner.coverage.Metric;
+import edu.hm.hafner.grading.ToolConfiguration;
+import edu.hm.hafner.util.FilteredLog;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+import io.jenkins.plugins.coverage.metrics.model.Baseline;
+
+/**
+ * Fingerprints of the inputs of the grading categories of a build. A fingerprint consists of the hash of the grading
+ * configuration and the cheap metadata of all graded results: the ID and the totals of the static analysis results,
+ * the project value of the coverage metrics, and the totals of the test results that are selected for each test tool
+ * (see {@link JenkinsTestReportFactory#createFingerprint(ToolConfiguration)}). If the fingerprint of a category is the
+ * same in two builds, then both builds will get the same score in this category. Additionally, the covered and total
+ * values of the coverage tools are stored, so that a reused coverage score can be graded from the actual values.
+ *
+ * @author Ullrich Hafner
+ */
+class InputFingerprints implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 5398622357226431455L;
+
+    private static final Severity[] SEVERITIES = {
+            Severity.ERROR, Severity.WARNING_HIGH, Severity.WARNING_NORMAL, Severity.WARNING_LOW};
+
+    private final String analysis;
+    private final String coverage;
+    private final String tests;
+    @CheckForNull
+    private final List<CoverageTotals> coverageTotals; // might be null for builds of older releases
+
+    /**
+     * Creates the fingerprints of the inputs of the specified configuration.
+     *
+     * @param configuration
+     *         the grading configuration
+     * @param actions
+     *         the actions of the graded run
+     * @param testFactory
+     *         the factory that creates the test reports, the fingerprints of the tests are created by this factory
+     * @param log
+     *         the logger
+     *
+     * @return the fingerprints
+     */
+    static InputFingerprints create(final GradingConfiguration configuration, final RunActionIndex actions,
+            final JenkinsTestReportFactory testFactory, final FilteredLog log) {
+        var analysis = new StringBuilder(configuration.getHash());
+        for (ToolConfiguration tool : configuration.getAnalysisTools()) {
+            analysis.append('|').append(tool.getId());
+            actions.findAnalysisAction(tool.getId(), log).ifPresent(action -> {
+                var result = action.getResult();
+                for (Severity severity : SEVERITIES) {
+                    analysis.append(':').append(result.getTotalSizeOf(severity));
+                }
+            });
+        }
+
+        var coverage = new StringBuilder(configuration.getHash());
+        List<CoverageTotals> coverageTotals = new ArrayList<>();
+        for (ToolConfiguration tool : configuration.getCoverageTools()) {
+            coverage.append('|').append(tool.getId());
+            CoverageTotals totals = null;
+            if (StringUtils.isNotBlank(tool.getMetric())) {
+                var value = actions.findCoverageAction(tool.getId(), log)
+                        .flatMap(action -> action.getValueForMetric(Baseline.PROJECT,
+                                Metric.fromName(tool.getMetric())));
+                if (value.isPresent()) {
+                    coverage.append(':').append(value.get());
+                    if (value.get() instanceof Coverage values) {
+                        totals = new CoverageTotals(values.getCovered(), values.getTotal());
+                        coverage.append(':').append(totals.getCovered()).append('/').append(totals.getTotal());
+                    }
+                }
+            }
+            coverageTotals.add(totals);
+        }
+
+        var tests = new StringBuilder(configuration.getHash());
+        for (ToolConfiguration tool : configuration.getTestTools()) {
+            tests.append('|').append(tool.getId()).append(':').append(testFactory.createFingerprint(tool));
+        }
+
+        return new InputFingerprints(GradingConfiguration.hash(analysis.toString()),
+                GradingConfiguration.hash(coverage.toString()), GradingConfiguration.hash(tests.toString()),
+                coverageTotals);
+    }
+
+    InputFingerprints(final String analysis, final String coverage, final String tests) {
+        this(analysis, coverage, tests, List.of());
+    }
+
+    InputFingerprints(final String analysis, final String coverage, final String tests,
+            final List<CoverageTotals> coverageTotals) {
+        this.analysis = analysis;
+        this.coverage = coverage;
+        this.tests = tests;
+        this.coverageTotals = new ArrayList<>(coverageTotals);
+    }
+
+    /**
+     * Returns the covered and total values of the coverage tools, in the order of the tools in the configuration.
+     *
+     * @return the coverage values, an element is {@code null} if there was no coverage value for the tool
+     */
+    List<CoverageTotals> getCoverageTotals() {
+        return coverageTotals == null ? List.of() : coverageTotals;
+    }
+
+    boolean hasSameAnalysis(@CheckForNull final InputFingerprints other) {
+        return other != null && analysis.equals(other.analysis);
+    }
+
+    boolean hasSameCoverage(@CheckForNull final InputFingerprints other) {
+        return other != null && coverage.equals(other.coverage);
+    }
+
+    boolean hasSameTests(@CheckForNull final InputFingerprints other) {
+        return other != null && tests.equals(other.tests);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        var that = (InputFingerprints) o;
+        return analysis.equals(that.analysis) && coverage.equals(that.coverage) && tests.equals(that.tests);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(analysis, coverage, tests);
+    }
+
+    /**
+     * The covered and total values of the project coverage of a coverage tool.
+     */
+    static final class CoverageTotals implements Serializable {
+        @Serial
+        private static final long serialVersionUID = -2186540349713657820L;
+
+        private final int covered;
+        private final int total;
+
+        CoverageTotals(final int covered, final int total) {
+            this.covered = covered;
+            this.total = total;
+        }
+
+        int getCovered() {
+            return covered;
+        }
+
+        int getTotal() {
+            return total;
+        }
+    }
+}
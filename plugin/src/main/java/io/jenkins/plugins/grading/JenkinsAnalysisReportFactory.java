@@ -12,29 +12,37 @@ import io.jenkins.plugins.analysis.core.model.ResultAction;
 
 /**
  * Supplies {@link AnalysisScore static analysis scores} based on the results of the registered {@link ResultAction}
- * instances.
+ * instances. By default, the full report with all issues is returned. If only the totals are required, then the
+ * factory returns a {@link AnalysisTotalsReport} that does not load the individual issues of the result.
  *
  * @author Ullrich Hafner
  */
 class JenkinsAnalysisReportFactory implements AnalysisReportFactory {
-    private final Run<?, ?> run;
+    private final RunActionIndex actions;
+    private final boolean totalsOnly;
 
     JenkinsAnalysisReportFactory(final Run<?, ?> run) {
+        this(new RunActionIndex(run), false);
+    }
+
+    JenkinsAnalysisReportFactory(final RunActionIndex actions, final boolean totalsOnly) {
         super();
 
-        this.run = run;
+        this.actions = actions;
+        this.totalsOnly = totalsOnly;
     }
 
     @Override
     public Report create(final ToolConfiguration tool, final FilteredLog log) {
-        var result = run.getActions(ResultAction.class).stream()
-                .filter(action -> action.getId().equals(tool.getId()))
-                .findFirst();
+        var result = actions.findAnalysisAction(tool.getId(), log);
         if (result.isPresent()) {
             var action = result.get();
             var analysisResult = action.getResult();
             log.logInfo("-> Found result action for %s with %d issues",
                     action.getDisplayName(), analysisResult.getTotalSize());
+            if (totalsOnly) {
+                return new AnalysisTotalsReport(analysisResult, action.getLabelProvider().getName());
+            }
             return analysisResult.getIssues();
         }
         else {
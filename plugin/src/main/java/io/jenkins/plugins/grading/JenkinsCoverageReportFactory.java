@@ -1,41 +1,66 @@
 package io.jenkins.plugins.grading;
 
+import java.util.Locale;
+import java.util.Optional;
+
 import org.apache.commons.lang3.StringUtils;
 
 import edu.hm.hafner.coverage.ContainerNode;
 import edu.hm.hafner.coverage.Coverage;
+import edu.hm.hafner.coverage.Metric;
 import edu.hm.hafner.coverage.ModuleNode;
 import edu.hm.hafner.coverage.Node;
+import edu.hm.hafner.coverage.Value;
 import edu.hm.hafner.grading.AggregatedScore.CoverageReportFactory;
 import edu.hm.hafner.grading.ToolConfiguration;
 import edu.hm.hafner.util.FilteredLog;
 
 import hudson.model.Run;
 
+import io.jenkins.plugins.coverage.metrics.model.Baseline;
 import io.jenkins.plugins.coverage.metrics.steps.CoverageBuildAction;
 
 /**
  * Supplies {@link Coverage coverage scores} based on the results of the registered
- * {@link CoverageBuildAction} instances.
+ * {@link CoverageBuildAction} instances. By default, the complete coverage tree of the action is returned. In pruned
+ * mode, the factory returns a single node that contains only the project value of the metric that is referenced in the
+ * tool configuration. This value is already stored in the action, so the coverage tree does not need to be loaded at
+ * all.
  *
  * @author Ullrich Hafner
  */
 class JenkinsCoverageReportFactory implements CoverageReportFactory {
-    private final Run<?, ?> run;
+    private final RunActionIndex actions;
+    private final boolean pruned;
 
     JenkinsCoverageReportFactory(final Run<?, ?> run) {
+        this(new RunActionIndex(run), false);
+    }
+
+    JenkinsCoverageReportFactory(final RunActionIndex actions, final boolean pruned) {
         super();
 
-        this.run = run;
+        this.actions = actions;
+        this.pruned = pruned;
     }
 
     @Override
     public Node create(final ToolConfiguration tool, final FilteredLog log) {
-        var result = run.getActions(CoverageBuildAction.class).stream()
-                .filter(action -> action.getUrlName().equals(tool.getId()))
-                .findFirst();
+        var result = actions.findCoverageAction(tool.getId(), log);
         if (result.isPresent()) {
             var action = result.get();
+            if (pruned) {
+                var projectValue = getProjectValue(tool, action);
+                if (projectValue.isPresent()) {
+                    var value = projectValue.get();
+                    log.logInfo("-> Found result action for %s: %s %s", action.getDisplayName(),
+                            action.getFormatter().getDisplayName(value.getMetric()),
+                            action.getFormatter().format(value, Locale.ENGLISH));
+                    var root = new ModuleNode(StringUtils.defaultIfBlank(tool.getName(), action.getDisplayName()));
+                    root.addValue(value);
+                    return root;
+                }
+            }
             var coverageResult = action.getResult();
             log.logInfo("-> Found result action for %s: %s",
                     action.getDisplayName(), coverageResult);
@@ -53,4 +78,12 @@ class JenkinsCoverageReportFactory implements CoverageReportFactory {
             return new ModuleNode("empty");
         }
     }
+
+    private Optional<? extends Value> getProjectValue(final ToolConfiguration tool,
+            final CoverageBuildAction action) {
+        if (StringUtils.isBlank(tool.getMetric())) {
+            return Optional.empty();
+        }
+        return action.getValueForMetric(Baseline.PROJECT, Metric.fromName(tool.getMetric()));
+    }
 }
@@ -1,67 +1,266 @@
 package io.jenkins.plugins.grading;
 
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.tools.ant.types.selectors.SelectorUtils;
+
 import edu.hm.hafner.coverage.ClassNode;
 import edu.hm.hafner.coverage.ModuleNode;
 import edu.hm.hafner.coverage.Node;
+import edu.hm.hafner.coverage.TestCase;
 import edu.hm.hafner.coverage.TestCase.TestCaseBuilder;
 import edu.hm.hafner.coverage.TestCase.TestResult;
 import edu.hm.hafner.grading.AggregatedScore.TestReportFactory;
 import edu.hm.hafner.grading.TestScore;
 import edu.hm.hafner.grading.ToolConfiguration;
 import edu.hm.hafner.util.FilteredLog;
+import edu.hm.hafner.util.VisibleForTesting;
 
 import hudson.model.Run;
+import hudson.tasks.junit.CaseResult;
+import hudson.tasks.junit.SuiteResult;
 import hudson.tasks.junit.TestResultAction;
 
 /**
  * Supplies {@link TestScore test scores} based on the results of the registered
- * {@link TestResultAction} instances.
+ * {@link TestResultAction} instances. By default, the totals of the test result action are used, so the cost does not
+ * depend on the number of tests.
+ *
+ * <p>
+ * If the selection of test suites is enabled, then the test suites of a tool are selected by the tool: a suite is part
+ * of the tool if it has been recorded in a stage or parallel branch with the name of the ID, or if the file name of the
+ * suite matches the (Ant) pattern of the tool. Selecting the suites requires loading all test results of the run.
+ * Therefore, a tool selects suites only if it has a pattern or if the run has a stage or parallel branch with the ID of
+ * the tool. If such a tool does not select any suite, then an error is logged and the tool gets an empty report. Tools
+ * without a pattern and without a matching stage use the totals of the test result action.
+ * </p>
  *
  * @author Ullrich Hafner
  */
 class JenkinsTestReportFactory implements TestReportFactory {
-    private final Run<?, ?> run;
+    private static final TestCase FAILED_TEST = createTestCase("test-failed", TestResult.FAILED);
+    private static final TestCase SKIPPED_TEST = createTestCase("test-skipped", TestResult.SKIPPED);
+    private static final TestCase PASSED_TEST = createTestCase("test-passed", TestResult.PASSED);
+
+    private final RunActionIndex actions;
+    private final boolean selectSuites;
+    private final Map<ToolConfiguration, Selection> selections = new ConcurrentHashMap<>();
 
     JenkinsTestReportFactory(final Run<?, ?> run) {
-        this.run = run;
+        this(new RunActionIndex(run), false);
+    }
+
+    JenkinsTestReportFactory(final RunActionIndex actions, final boolean selectSuites) {
+        this.actions = actions;
+        this.selectSuites = selectSuites;
+    }
+
+    private static TestCase createTestCase(final String name, final TestResult status) {
+        return new TestCaseBuilder().withTestName(name).withClassName("Tests").withStatus(status).build();
     }
 
     @Override
     public Node create(final ToolConfiguration tool, final FilteredLog log) {
-        TestResultAction action = run.getAction(TestResultAction.class);
+        if (isNarrowing(tool)) {
+            var selected = selections.remove(tool);
+            if (selected == null) {
+                selected = select(tool);
+            }
+            var report = selected.report();
+            if (report.getChildren().isEmpty()) {
+                log.logError("No test suites found for ID '%s' (neither in a stage or parallel branch '%s' "
+                        + "nor in files matching the pattern '%s')", tool.getId(), tool.getId(), tool.getPattern());
+                return createTestReport(0, 0, 0);
+            }
+            log.logInfo("-> Found %d test classes for %s", report.getChildren().size(), tool.getId());
+            return report;
+        }
+        return createTotalsTestReport(tool, log);
+    }
+
+    /**
+     * Returns whether the suites of the specified tool need to be selected, i.e., whether the selection of suites is
+     * enabled and the tool has a pattern or refers to a stage or parallel branch of the run. The stages of the run are
+     * scanned only if the tool has no pattern.
+     *
+     * @param tool
+     *         the tool
+     *
+     * @return {@code true} if the suites should be selected, {@code false} if the totals should be used
+     */
+    boolean isNarrowing(final ToolConfiguration tool) {
+        return selectSuites
+                && (StringUtils.isNotBlank(tool.getPattern()) || actions.findBlockNames().contains(tool.getId()));
+    }
+
+    /**
+     * Creates a fingerprint of the test results that will be graded for the specified tool. The fingerprint is based on
+     * the same selection of suites as {@link #create(ToolConfiguration, FilteredLog)}: either the name and the number
+     * of passed, failed, and skipped tests of every selected suite, or the totals of the test result action. The
+     * report of the selected suites is created in the same pass and handed out by the next invocation of
+     * {@link #create(ToolConfiguration, FilteredLog)} for this tool, so the test results are read only once.
+     *
+     * @param tool
+     *         the tool
+     *
+     * @return the fingerprint
+     */
+    String createFingerprint(final ToolConfiguration tool) {
+        if (isNarrowing(tool)) {
+            return selections.computeIfAbsent(tool, this::select).fingerprint();
+        }
+        TestResultAction action = actions.getRun().getAction(TestResultAction.class);
+        if (action == null) {
+            return "-";
+        }
+        return action.getTotalCount() + ":" + action.getFailCount() + ":" + action.getSkipCount();
+    }
+
+    /**
+     * Selects the suites of the specified tool and creates the report and the fingerprint of these suites in a single
+     * pass over the test results.
+     */
+    private Selection select(final ToolConfiguration tool) {
+        var root = new ModuleNode(tool.getId());
+        var fingerprint = new StringBuilder();
+        Map<String, ClassNode> classes = new HashMap<>();
+        for (TestResultAction action : actions.findTestActions()) {
+            for (SuiteResult suite : action.getResult().getSuites()) {
+                if (isSelected(tool, suite)) {
+                    int failed = 0;
+                    int skipped = 0;
+                    int total = 0;
+                    for (CaseResult result : suite.getCases()) {
+                        total++;
+                        if (result.isSkipped()) {
+                            skipped++;
+                        }
+                        else if (result.isFailed()) {
+                            failed++;
+                        }
+                        classes.computeIfAbsent(result.getClassName(), className -> createClassNode(root, className))
+                                .addTestCase(createTestCase(result));
+                    }
+                    fingerprint.append(suite.getName()).append(':').append(total).append(':').append(failed)
+                            .append(':').append(skipped).append('|');
+                }
+            }
+        }
+        return new Selection(root, fingerprint.toString());
+    }
+
+    /**
+     * Returns whether the specified suite belongs to the specified tool.
+     *
+     * @param tool
+     *         the tool
+     * @param suite
+     *         the suite
+     *
+     * @return {@code true} if the suite has been recorded in the stage of the tool or if the file of the suite matches
+     *         the pattern of the tool
+     */
+    private static boolean isSelected(final ToolConfiguration tool, final SuiteResult suite) {
+        if (suite.getEnclosingBlockNames().contains(tool.getId())) {
+            return true;
+        }
+        var file = suite.getFile();
+        return StringUtils.isNotBlank(tool.getPattern()) && file != null && matches(tool.getPattern(), file);
+    }
+
+    /**
+     * Matches the file of a suite against the pattern of a tool. The file is the absolute path of the report on the
+     * agent (on Unix or Windows), while the pattern is relative to the workspace. So the root of the file is removed
+     * and the pattern may start in any folder.
+     */
+    @VisibleForTesting
+    static boolean matches(final String pattern, final String file) {
+        var relativeFile = StringUtils.stripStart(normalize(file).replaceFirst("^[A-Za-z]:", ""), "/");
+        var relativePattern = StringUtils.stripStart(normalize(pattern), "/");
+        if (!relativePattern.startsWith("**/")) {
+            relativePattern = "**/" + relativePattern;
+        }
+        return SelectorUtils.matchPath(toSystemSeparator(relativePattern), toSystemSeparator(relativeFile));
+    }
+
+    private static String normalize(final String path) {
+        return path.trim().replace('\\', '/');
+    }
+
+    private static String toSystemSeparator(final String path) {
+        return path.replace('/', File.separatorChar);
+    }
+
+    private ClassNode createClassNode(final ModuleNode root, final String className) {
+        var classNode = new ClassNode(className);
+        root.addChild(classNode);
+        return classNode;
+    }
+
+    private TestCase createTestCase(final CaseResult result) {
+        var builder = new TestCaseBuilder()
+                .withTestName(result.getName())
+                .withClassName(result.getClassName());
+        if (result.isSkipped()) {
+            builder.withStatus(TestResult.SKIPPED);
+        }
+        else if (result.isFailed()) {
+            builder.withStatus(TestResult.FAILED).withMessage(StringUtils.defaultString(result.getErrorDetails()));
+        }
+        else {
+            builder.withStatus(TestResult.PASSED);
+        }
+        return builder.build();
+    }
+
+    private Node createTotalsTestReport(final ToolConfiguration tool, final FilteredLog log) {
+        TestResultAction action = actions.getRun().getAction(TestResultAction.class);
         if (action == null) {
             log.logError("Scoring of test results has been enabled, but no results have been found.");
             return createTestReport(0, 0, 0);
         }
         log.logInfo("-> Found result action for %s: %s", tool.getId(), action.getDisplayName());
         return createTestReport(action.getTotalCount() - action.getFailCount() - action.getSkipCount(),
-                action.getFailCount(), action.getSkipCount());
+                action.getSkipCount(), action.getFailCount());
     }
 
-    Node createTestReport(final int passed, final int skipped, final int failed) {
+    /**
+     * Creates a test report that contains the specified number of passed, skipped, and failed tests. Since the grading
+     * model only counts the test cases, each test case of a given status refers to the same immutable instance. So
+     * creating the report does neither allocate a test case nor a string for a single test.
+     *
+     * @param passed
+     *         the number of passed tests
+     * @param skipped
+     *         the number of skipped tests
+     * @param failed
+     *         the number of failed tests
+     *
+     * @return the test report
+     */
+    static Node createTestReport(final int passed, final int skipped, final int failed) {
         var root = new ModuleNode(String.format("Tests (%d/%d/%d)", failed, skipped, passed));
         var tests = new ClassNode("Tests");
         root.addChild(tests);
 
-        for (int i = 0; i < failed; i++) {
-            tests.addTestCase(new TestCaseBuilder()
-                    .withTestName("test-failed-" + i)
-                    .withClassName("test-class-failed-" + i)
-                    .withMessage("failed-message-" + i)
-                    .withDescription("StackTrace-" + i)
-                    .withStatus(TestResult.FAILED).build());
-        }
-        for (int i = 0; i < skipped; i++) {
-            tests.addTestCase(new TestCaseBuilder()
-                    .withTestName("test-skipped-" + i)
-                    .withStatus(TestResult.SKIPPED).build());
-        }
-        for (int i = 0; i < passed; i++) {
-            tests.addTestCase(new TestCaseBuilder()
-                    .withTestName("test-passed-" + i)
-                    .withStatus(TestResult.PASSED).build());
-        }
+        addTestCases(tests, FAILED_TEST, failed);
+        addTestCases(tests, SKIPPED_TEST, skipped);
+        addTestCases(tests, PASSED_TEST, passed);
 
         return root;
     }
+
+    private static void addTestCases(final ClassNode tests, final TestCase testCase, final int count) {
+        for (int i = 0; i < count; i++) {
+            tests.addTestCase(testCase);
+        }
+    }
+
+    /** The report and the fingerprint of the suites that have been selected for a tool. */
+    private record Selection(Node report, String fingerprint) {
+    }
 }
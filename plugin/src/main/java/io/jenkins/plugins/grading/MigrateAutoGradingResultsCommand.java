@@ -0,0 +1,170 @@
+package io.jenkins.plugins.grading;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.security.access.AccessDeniedException;
+
+import org.kohsuke.args4j.Option;
+import hudson.Extension;
+import hudson.cli.CLICommand;
+import hudson.model.Job;
+import hudson.model.Run;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import jenkins.model.Jenkins;
+
+import io.jenkins.plugins.util.JenkinsFacade;
+
+/**
+ * CLI command that rewrites the autograding results of all builds in the current storage format (see
+ * {@link AutoGradingBuildAction#migrate()}). Otherwise, results of older releases are converted one by one while users
+ * browse the builds. The builds are migrated in parallel, the number of threads and a pause after each build (to
+ * throttle the I/O load) can be configured. The jobs are processed one after another, and the builds of a job are
+ * loaded lazily while they are handed to the threads. Progress and failures are reported on the console.
+ *
+ * @author Ullrich Hafner
+ */
+@Extension
+public class MigrateAutoGradingResultsCommand extends CLICommand {
+    private static final int PROGRESS_INTERVAL = 100;
+    private static final int QUEUED_BUILDS_PER_THREAD = 2;
+
+    @Option(name = "--threads", usage = "Number of builds that are migrated in parallel (default: 2)")
+    private int threads = 2;
+
+    @Option(name = "--pause", usage = "Pause in milliseconds after each migrated build of a thread (default: 0)")
+    private long pause;
+
+    @Option(name = "--job", usage = "Full name of the job to migrate (default: all jobs)")
+    private String jobName = StringUtils.EMPTY;
+
+    private final JenkinsFacade jenkins;
+
+    /**
+     * Creates a new instance of {@link MigrateAutoGradingResultsCommand}.
+     */
+    public MigrateAutoGradingResultsCommand() {
+        this(new JenkinsFacade());
+    }
+
+    MigrateAutoGradingResultsCommand(final JenkinsFacade jenkins) {
+        super();
+
+        this.jenkins = jenkins;
+    }
+
+    @Override
+    public String getShortDescription() {
+        return Messages.Command_Migrate_Description();
+    }
+
+    @Override
+    protected int run() throws InterruptedException {
+        if (!jenkins.hasPermission(Jenkins.ADMINISTER)) {
+            throw new AccessDeniedException("Migrating autograding results requires the ADMINISTER permission");
+        }
+
+        stdout.printf("Migrating the autograding results of %s with %d threads%n",
+                StringUtils.isBlank(jobName) ? "all jobs" : jobName, threads);
+
+        var progress = new Progress();
+        int parallelBuilds = Math.max(1, threads);
+        var executor = Executors.newFixedThreadPool(parallelBuilds,
+                new NamingThreadFactory(new DaemonThreadFactory(), "Autograding migration"));
+        var inProgress = new Semaphore(QUEUED_BUILDS_PER_THREAD * parallelBuilds);
+        try {
+            var jobNames = StringUtils.isBlank(jobName) ? jenkins.getAllJobNames() : List.of(jobName);
+            for (String name : jobNames) {
+                var job = jenkins.getJob(name);
+                if (job.isPresent()) {
+                    submitBuilds(job.get(), executor, inProgress, progress);
+                }
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+        while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+            progress.print();
+        }
+        progress.print();
+
+        return progress.failed.get() == 0 ? 0 : 1;
+    }
+
+    /**
+     * Submits the builds of the specified job to the executor. The builds are loaded one by one while they are
+     * submitted. Only a limited number of builds are queued, so that the builds of all jobs are not held in memory.
+     */
+    private void submitBuilds(final Job<?, ?> job, final ExecutorService executor, final Semaphore inProgress,
+            final Progress progress) throws InterruptedException {
+        for (Run<?, ?> build : job.getBuilds()) {
+            var action = build.getAction(AutoGradingBuildAction.class);
+            if (action != null) {
+                inProgress.acquire();
+                progress.total.incrementAndGet();
+                executor.execute(() -> {
+                    try {
+                        migrate(action, progress);
+                    }
+                    finally {
+                        inProgress.release();
+                    }
+                });
+            }
+        }
+    }
+
+    private void migrate(final AutoGradingBuildAction action, final Progress progress) {
+        try {
+            if (action.migrate()) {
+                progress.migrated.incrementAndGet();
+            }
+            else {
+                progress.upToDate.incrementAndGet();
+            }
+        }
+        catch (Exception exception) { // NOPMD: report all failures and continue with the next build
+            progress.failed.incrementAndGet();
+            stderr.printf("Failed to migrate %s: %s%n", action.getOwner().getFullDisplayName(), exception);
+        }
+        if (progress.finished() % PROGRESS_INTERVAL == 0) {
+            progress.print();
+        }
+        throttle();
+    }
+
+    private void throttle() {
+        if (pause > 0) {
+            try {
+                Thread.sleep(pause);
+            }
+            catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /** Counts the submitted and migrated builds. */
+    private final class Progress {
+        private final AtomicInteger total = new AtomicInteger();
+        private final AtomicInteger migrated = new AtomicInteger();
+        private final AtomicInteger upToDate = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+
+        int finished() {
+            return migrated.get() + upToDate.get() + failed.get();
+        }
+
+        void print() {
+            stdout.printf("Finished %d of %d builds: %d migrated, %d already up to date, %d failed%n",
+                    finished(), total.get(), migrated.get(), upToDate.get(), failed.get());
+        }
+    }
+}
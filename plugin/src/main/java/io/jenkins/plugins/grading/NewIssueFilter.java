@@ -0,0 +1,79 @@
+package io.jenkins.plugins.grading;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.StreamSupport;
+
+import edu.hm.hafner.analysis.Issue;
+
+/**
+ * Filters the issues of a report that are new with respect to the report of a reference build. The issues are matched
+ * by their fingerprint, so an issue is still outstanding if its line has been moved. Issues without a fingerprint are
+ * matched by their type, category, file name, and message. The keys of the reference issues are stored in a hash based
+ * multiset: if the reference report contains an issue twice, then the first two matching issues of the current report
+ * are outstanding, any further matching issue is new. Hence, the cost of the filter is linear in the number of issues
+ * of both reports.
+ *
+ * @author Ullrich Hafner
+ */
+class NewIssueFilter {
+    private final Map<IssueKey, Integer> referenceIssues = new HashMap<>();
+
+    /**
+     * Creates a new instance of {@link NewIssueFilter}.
+     *
+     * @param reference
+     *         the issues of the reference build
+     */
+    NewIssueFilter(final Iterable<Issue> reference) {
+        for (Issue issue : reference) {
+            referenceIssues.merge(IssueKey.of(issue), 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Returns whether the specified issue is new. Each issue of the reference build matches one issue only, so this
+     * method must be called exactly once for each issue of the current report.
+     *
+     * @param issue
+     *         the issue to check
+     *
+     * @return {@code true} if the issue is new, {@code false} if the issue is outstanding
+     */
+    boolean isNew(final Issue issue) {
+        var key = IssueKey.of(issue);
+        var count = referenceIssues.get(key);
+        if (count == null) {
+            return true;
+        }
+        if (count == 1) {
+            referenceIssues.remove(key);
+        }
+        else {
+            referenceIssues.put(key, count - 1);
+        }
+        return false;
+    }
+
+    /**
+     * Returns the new issues of the specified report. The issues are filtered lazily, so the returned issues can be
+     * iterated only once.
+     *
+     * @param issues
+     *         the issues of the current report
+     *
+     * @return the new issues
+     */
+    Iterable<Issue> filter(final Iterable<Issue> issues) {
+        return () -> StreamSupport.stream(issues.spliterator(), false).filter(this::isNew).iterator();
+    }
+
+    private record IssueKey(String fingerprint, String type, String category, String fileName, String message) {
+        static IssueKey of(final Issue issue) {
+            if (issue.hasFingerprint()) {
+                return new IssueKey(issue.getFingerprint(), "", "", "", "");
+            }
+            return new IssueKey("", issue.getType(), issue.getCategory(), issue.getFileName(), issue.getMessage());
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package io.jenkins.plugins.grading;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.function.BiFunction;
+
+import edu.hm.hafner.grading.AggregatedScore;
+import edu.hm.hafner.grading.AggregatedScore.AnalysisReportFactory;
+import edu.hm.hafner.grading.AggregatedScore.CoverageReportFactory;
+import edu.hm.hafner.grading.AggregatedScore.TestReportFactory;
+import edu.hm.hafner.grading.ToolConfiguration;
+import edu.hm.hafner.util.FilteredLog;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+/**
+ * The report factories of the three grading categories. By default, the reports are read from the actions of the
+ * graded run. The factories of a category can be replaced by a factory that reuses the scores of a previous build, or
+ * wrapped by a factory that loads all reports concurrently.
+ *
+ * @author Ullrich Hafner
+ */
+class ReportFactories {
+    private AnalysisReportFactory analysisFactory;
+    private CoverageReportFactory coverageFactory;
+    private TestReportFactory testFactory;
+    private final List<ReportPrefetcher<?>> prefetchers = new ArrayList<>();
+
+    /**
+     * Creates the report factories that read the reports from the actions of a run.
+     *
+     * @param actions
+     *         the actions of the graded run
+     * @param testFactory
+     *         the factory that reads the test reports from the actions of the run
+     */
+    ReportFactories(final RunActionIndex actions, final JenkinsTestReportFactory testFactory) {
+        analysisFactory = new JenkinsAnalysisReportFactory(actions, true);
+        coverageFactory = new JenkinsCoverageReportFactory(actions, true);
+        this.testFactory = testFactory;
+    }
+
+    /**
+     * Replaces the factories of all categories with unchanged inputs by factories that reuse the scores of the
+     * previous build.
+     *
+     * @param reused
+     *         the factory that provides the reports of the previous build
+     * @param current
+     *         the fingerprints of the inputs of the current build
+     * @param previous
+     *         the fingerprints of the inputs of the previous build
+     * @param previousBuild
+     *         the display name of the previous build
+     * @param log
+     *         the logger
+     */
+    void reuseUnchanged(final ReusedScoreFactory reused, final InputFingerprints current,
+            @CheckForNull final InputFingerprints previous, final String previousBuild, final FilteredLog log) {
+        if (reused.canReuseAnalysis() && current.hasSameAnalysis(previous)) {
+            log.logInfo("Reusing static analysis scores of %s (results are unchanged)", previousBuild);
+            analysisFactory = reused::createAnalysisReport;
+        }
+        if (reused.canReuseCoverage() && current.hasSameCoverage(previous)) {
+            log.logInfo("Reusing coverage scores of %s (results are unchanged)", previousBuild);
+            coverageFactory = reused::createCoverageReport;
+        }
+        if (reused.canReuseTests() && current.hasSameTests(previous)) {
+            log.logInfo("Reusing test scores of %s (results are unchanged)", previousBuild);
+            testFactory = reused::createTestReport;
+        }
+    }
+
+    /**
+     * Records the loading time of the reports of every tool in the specified timings.
+     *
+     * @param timings
+     *         the timings to record the loading times in
+     */
+    void measure(final GradingTimings timings) {
+        var analysisLoader = timings.measureLoading(GradingTimings.ANALYSIS, analysisFactory::create);
+        analysisFactory = analysisLoader::apply;
+        var coverageLoader = timings.measureLoading(GradingTimings.COVERAGE, coverageFactory::create);
+        coverageFactory = coverageLoader::apply;
+        var testLoader = timings.measureLoading(GradingTimings.TESTS, testFactory::create);
+        testFactory = testLoader::apply;
+    }
+
+    /**
+     * Starts loading the reports of all tools of the specified configuration concurrently.
+     *
+     * @param configuration
+     *         the grading configuration
+     * @param executor
+     *         the executor that loads the reports
+     */
+    void prefetch(final GradingConfiguration configuration, final ExecutorService executor) {
+        var analysisReports = prefetch(analysisFactory::create, configuration.getAnalysisTools(), executor);
+        analysisFactory = analysisReports::create;
+        var coverageReports = prefetch(coverageFactory::create, configuration.getCoverageTools(), executor);
+        coverageFactory = coverageReports::create;
+        var testReports = prefetch(testFactory::create, configuration.getTestTools(), executor);
+        testFactory = testReports::create;
+    }
+
+    private <T> ReportPrefetcher<T> prefetch(final BiFunction<ToolConfiguration, FilteredLog, T> loader,
+            final List<ToolConfiguration> tools, final ExecutorService executor) {
+        var prefetcher = new ReportPrefetcher<>(loader);
+        prefetcher.prefetch(tools, executor);
+        prefetchers.add(prefetcher);
+        return prefetcher;
+    }
+
+    /**
+     * Grades all categories using the current factories. If the grading fails, then the loading of all prefetched
+     * reports that have not been requested yet is cancelled.
+     *
+     * @param score
+     *         the score to grade
+     * @param log
+     *         the logger
+     * @param timings
+     *         the timings to record the scoring times in
+     */
+    void grade(final AggregatedScore score, final FilteredLog log, final GradingTimings timings) {
+        try {
+            log.logInfo("Grading static analysis results");
+            timings.measureScoring(GradingTimings.ANALYSIS, analysisFactory::create,
+                    loader -> score.gradeAnalysis(loader::apply));
+
+            log.logInfo("Grading coverage results");
+            timings.measureScoring(GradingTimings.COVERAGE, coverageFactory::create,
+                    loader -> score.gradeCoverage(loader::apply));
+
+            log.logInfo("Grading test results");
+            timings.measureScoring(GradingTimings.TESTS, testFactory::create,
+                    loader -> score.gradeTests(loader::apply));
+        }
+        finally {
+            prefetchers.forEach(ReportPrefetcher::cancel);
+        }
+    }
+}
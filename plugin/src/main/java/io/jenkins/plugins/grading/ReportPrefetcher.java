@@ -0,0 +1,107 @@
+package io.jenkins.plugins.grading;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+
+import edu.hm.hafner.grading.ToolConfiguration;
+import edu.hm.hafner.util.FilteredLog;
+
+/**
+ * Loads the reports of several tools in parallel and hands them out when the grading model requests them. Each report
+ * is loaded with a separate log. This log is merged into the grading log when the grading model requests the
+ * corresponding report. So the grading log has the same content and order as if all reports would have been loaded one
+ * after another.
+ *
+ * @param <T>
+ *         the type of the reports
+ *
+ * @author Ullrich Hafner
+ */
+class ReportPrefetcher<T> {
+    private final BiFunction<ToolConfiguration, FilteredLog, T> loader;
+    private final Map<ToolConfiguration, Future<LoadedReport<T>>> reports = new HashMap<>();
+
+    /**
+     * Creates a new instance of {@link ReportPrefetcher}.
+     *
+     * @param loader
+     *         the loader that actually reads the report of a given tool
+     */
+    ReportPrefetcher(final BiFunction<ToolConfiguration, FilteredLog, T> loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * Starts loading the reports of the specified tools using the given executor.
+     *
+     * @param tools
+     *         the tools to load the reports for
+     * @param executor
+     *         the executor that runs the loaders
+     */
+    void prefetch(final Collection<ToolConfiguration> tools, final ExecutorService executor) {
+        for (ToolConfiguration tool : tools) {
+            reports.computeIfAbsent(tool, key -> executor.submit(() -> load(key)));
+        }
+    }
+
+    private LoadedReport<T> load(final ToolConfiguration tool) {
+        var log = new FilteredLog(AutoGrader.LOG_TITLE);
+        var report = loader.apply(tool, log);
+        return new LoadedReport<>(report, log);
+    }
+
+    /**
+     * Returns the report for the specified tool. If the report has been prefetched, then this method waits until the
+     * loading has been finished. Otherwise, the report is loaded in the calling thread.
+     *
+     * @param tool
+     *         the tool to get the report for
+     * @param log
+     *         the grading log
+     *
+     * @return the report
+     */
+    T create(final ToolConfiguration tool, final FilteredLog log) {
+        var future = reports.get(tool);
+        if (future == null) {
+            return loader.apply(tool, log);
+        }
+        try {
+            var loaded = future.get();
+            log.merge(loaded.log());
+            return loaded.report();
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+
+            throw new IllegalStateException("Interrupted while loading the report for " + tool.getId(), exception);
+        }
+        catch (ExecutionException exception) {
+            var cause = exception.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Can't load the report for " + tool.getId(), cause);
+        }
+    }
+
+    /**
+     * Cancels the loading of all reports that have not been requested yet. Running loaders are interrupted, so that
+     * they do not occupy the shared executor after the grading has been aborted.
+     */
+    void cancel() {
+        reports.values().forEach(future -> future.cancel(true));
+    }
+
+    private record LoadedReport<T>(T report, FilteredLog log) {
+    }
+}
@@ -0,0 +1,191 @@
+package io.jenkins.plugins.grading;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import edu.hm.hafner.grading.AggregatedScore;
+import edu.hm.hafner.util.FilteredLog;
+import edu.hm.hafner.util.VisibleForTesting;
+
+import hudson.Extension;
+import hudson.init.Terminator;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.model.listeners.RunListener;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+
+/**
+ * Writes the results of grading runs on a background thread, so that the build does not need to wait for the file
+ * system. Along with the result, the index of the job is updated on the background thread. Until a result has been
+ * written, it is held in memory and served from there. All pending results of a build
+ * are written before the build completes (see {@link FlushOnCompletion}), all remaining results are written when
+ * Jenkins shuts down. If a result can't be written, then the failure is logged when the result is flushed, the
+ * index is not updated, and the result is still served from memory.
+ *
+ * @author Ullrich Hafner
+ */
+public final class ResultWriter {
+    private static final Logger LOGGER = Logger.getLogger(ResultWriter.class.getName());
+    private static final ResultWriter INSTANCE = new ResultWriter(Executors.newSingleThreadExecutor(
+            new NamingThreadFactory(new DaemonThreadFactory(), "Autograding writer")));
+    private static final long FLUSH_TIMEOUT_MINUTES = 5;
+
+    private final ExecutorService executor;
+    private final Map<Path, PendingResult> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the shared writer.
+     *
+     * @return the writer
+     */
+    static ResultWriter get() {
+        return INSTANCE;
+    }
+
+    @VisibleForTesting
+    ResultWriter(final ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Writes the specified result in the background.
+     *
+     * @param buildDirectory
+     *         the root directory of the build
+     * @param file
+     *         the file to write the score to
+     * @param score
+     *         the score to write
+     * @param log
+     *         the log with the messages of the grading run
+     * @param afterWrite
+     *         additional work that should be done after the result has been written, e.g., updating the index of
+     *         the job; skipped if the result can't be written
+     */
+    void write(final Path buildDirectory, final Path file, final AggregatedScore score, final FilteredLog log,
+            final Runnable afterWrite) {
+        var self = new AtomicReference<PendingResult>();
+        var task = new FutureTask<Void>(() -> {
+            GradingLogStore.write(buildDirectory, log);
+            // if writing fails, then the future fails and the pending score is still served
+            new CompressedScoreStream().writeCompressed(file, score);
+            try {
+                afterWrite.run();
+            }
+            finally {
+                pending.remove(file, self.get()); // before the future completes, so flushed results are not pending
+            }
+            return null;
+        });
+        var result = new PendingResult(buildDirectory, score, task);
+        self.set(result);
+        pending.put(file, result);
+        executor.execute(task);
+    }
+
+    /**
+     * Returns the score that should be written to the specified file, if the file has not been written yet.
+     *
+     * @param file
+     *         the file of the score
+     *
+     * @return the pending score, or an empty optional if there is no pending score for this file
+     */
+    Optional<AggregatedScore> findPending(final Path file) {
+        return Optional.ofNullable(pending.get(file)).map(PendingResult::getScore);
+    }
+
+    /**
+     * Waits until all pending results of the specified build directory have been written.
+     *
+     * @param buildDirectory
+     *         the root directory of the build
+     */
+    void flush(final Path buildDirectory) {
+        waitFor(pending.values().stream()
+                .filter(result -> result.getBuildDirectory().equals(buildDirectory))
+                .toList());
+    }
+
+    /**
+     * Waits until all pending results have been written.
+     */
+    void flushAll() {
+        waitFor(List.copyOf(pending.values()));
+    }
+
+    private void waitFor(final List<PendingResult> results) {
+        for (PendingResult result : results) {
+            try {
+                result.getFuture().get(FLUSH_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+            }
+            catch (ExecutionException | TimeoutException exception) {
+                LOGGER.log(Level.SEVERE, "Failed to write the auto-grading result of " + result.getBuildDirectory(),
+                        exception);
+            }
+            catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Writes all pending results when Jenkins shuts down.
+     */
+    @Terminator
+    @SuppressWarnings("unused") // Called by Jenkins
+    public static void flushOnShutdown() {
+        get().flushAll();
+    }
+
+    /**
+     * Writes all pending results of a build before the build completes.
+     */
+    @Extension
+    public static class FlushOnCompletion extends RunListener<Run<?, ?>> {
+        @Override
+        public void onCompleted(final Run<?, ?> run, final TaskListener listener) {
+            get().flush(run.getRootDir().toPath());
+        }
+    }
+
+    /** A result that has not been written yet. */
+    private static final class PendingResult {
+        private final Path buildDirectory;
+        private final AggregatedScore score;
+        private final Future<?> future;
+
+        PendingResult(final Path buildDirectory, final AggregatedScore score, final Future<?> future) {
+            this.buildDirectory = buildDirectory;
+            this.score = score;
+            this.future = future;
+        }
+
+        Path getBuildDirectory() {
+            return buildDirectory;
+        }
+
+        AggregatedScore getScore() {
+            return score;
+        }
+
+        Future<?> getFuture() {
+            return future;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package io.jenkins.plugins.grading;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+
+import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.coverage.Coverage.CoverageBuilder;
+import edu.hm.hafner.coverage.Metric;
+import edu.hm.hafner.coverage.ModuleNode;
+import edu.hm.hafner.coverage.Node;
+import edu.hm.hafner.grading.AggregatedScore;
+import edu.hm.hafner.grading.AnalysisScore;
+import edu.hm.hafner.grading.CoverageScore;
+import edu.hm.hafner.grading.Score;
+import edu.hm.hafner.grading.TestScore;
+import edu.hm.hafner.grading.ToolConfiguration;
+import edu.hm.hafner.util.FilteredLog;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+import io.jenkins.plugins.grading.InputFingerprints.CoverageTotals;
+
+/**
+ * Creates the reports of the tools from the sub-scores of a previous build. This factory is used for categories whose
+ * inputs did not change since the previous build (see {@link InputFingerprints}). The created reports contain only the
+ * totals of the previous sub-scores (and the covered and total values of the coverage tools that are stored in the
+ * fingerprints of the previous build), so grading them yields the same scores without loading the results of the
+ * current build.
+ *
+ * @author Ullrich Hafner
+ */
+class ReusedScoreFactory {
+    private final Map<ToolConfiguration, AnalysisScore> analysisScores;
+    private final Map<ToolConfiguration, CoverageScore> coverageScores;
+    private final Map<ToolConfiguration, CoverageTotals> coverageTotals = new HashMap<>();
+    private final Map<ToolConfiguration, TestScore> testScores;
+
+    /**
+     * Creates a new instance of {@link ReusedScoreFactory}.
+     *
+     * @param configuration
+     *         the grading configuration (must be the same as the configuration of the previous build)
+     * @param previous
+     *         the score of the previous build
+     * @param previousFingerprints
+     *         the fingerprints of the inputs of the previous build
+     */
+    ReusedScoreFactory(final GradingConfiguration configuration, final AggregatedScore previous,
+            @CheckForNull final InputFingerprints previousFingerprints) {
+        analysisScores = mapToTools(configuration.getAnalysisTools(), previous.getAnalysisScores());
+        coverageScores = mapToTools(configuration.getCoverageTools(), previous.getCoverageScores());
+        testScores = mapToTools(configuration.getTestTools(), previous.getTestScores());
+
+        if (previousFingerprints != null) {
+            var tools = configuration.getCoverageTools();
+            var totals = previousFingerprints.getCoverageTotals();
+            if (totals.size() == tools.size()) {
+                for (int i = 0; i < tools.size(); i++) {
+                    if (totals.get(i) != null) {
+                        coverageTotals.putIfAbsent(tools.get(i), totals.get(i));
+                    }
+                }
+            }
+        }
+    }
+
+    private static <S extends Score<S, ?>> Map<ToolConfiguration, S> mapToTools(
+            final List<ToolConfiguration> tools, final List<S> scores) {
+        var subScores = scores.stream()
+                .map(Score::getSubScores)
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+        Map<ToolConfiguration, S> mapping = new HashMap<>();
+        if (subScores.size() == tools.size()) {
+            for (int i = 0; i < tools.size(); i++) {
+                mapping.putIfAbsent(tools.get(i), subScores.get(i));
+            }
+        }
+        return mapping;
+    }
+
+    boolean canReuseAnalysis() {
+        return !analysisScores.isEmpty();
+    }
+
+    boolean canReuseCoverage() {
+        return !coverageScores.isEmpty()
+                && coverageScores.keySet().stream().allMatch(tool -> StringUtils.isNotBlank(tool.getMetric()))
+                && coverageTotals.keySet().containsAll(coverageScores.keySet());
+    }
+
+    boolean canReuseTests() {
+        return !testScores.isEmpty();
+    }
+
+    Report createAnalysisReport(final ToolConfiguration tool, final FilteredLog log) {
+        var score = analysisScores.get(tool);
+        if (score == null) {
+            log.logError("No previous score found for ID '%s'", tool.getId());
+            return new Report();
+        }
+        return new AnalysisTotalsReport(score.getId(), score.getName(), score.getErrorSize(),
+                score.getHighSeveritySize(), score.getNormalSeveritySize(), score.getLowSeveritySize());
+    }
+
+    Node createCoverageReport(final ToolConfiguration tool, final FilteredLog log) {
+        var root = new ModuleNode(StringUtils.defaultIfBlank(tool.getName(), tool.getId()));
+        var totals = coverageTotals.get(tool);
+        if (totals == null) {
+            log.logError("No previous coverage values found for ID '%s'", tool.getId());
+        }
+        else if (StringUtils.isBlank(tool.getMetric())) {
+            log.logError("No metric defined for ID '%s', the previous score cannot be reused", tool.getId());
+        }
+        else {
+            root.addValue(new CoverageBuilder()
+                    .withMetric(Metric.fromName(tool.getMetric()))
+                    .withCovered(totals.getCovered())
+                    .withTotal(totals.getTotal())
+                    .build());
+        }
+        return root;
+    }
+
+    Node createTestReport(final ToolConfiguration tool, final FilteredLog log) {
+        var score = testScores.get(tool);
+        if (score == null) {
+            log.logError("No previous score found for ID '%s'", tool.getId());
+            return JenkinsTestReportFactory.createTestReport(0, 0, 0);
+        }
+        return JenkinsTestReportFactory.createTestReport(score.getPassedSize(), score.getSkippedSize(),
+                score.getFailedSize());
+    }
+}
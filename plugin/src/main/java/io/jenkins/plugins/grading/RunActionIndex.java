@@ -0,0 +1,160 @@
+package io.jenkins.plugins.grading;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.apache.commons.lang3.StringUtils;
+
+import edu.hm.hafner.util.FilteredLog;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+import org.jenkinsci.plugins.workflow.actions.LabelAction;
+import org.jenkinsci.plugins.workflow.flow.FlowExecutionOwner;
+import org.jenkinsci.plugins.workflow.graph.FlowNode;
+import org.jenkinsci.plugins.workflow.graphanalysis.DepthFirstScanner;
+import hudson.model.Action;
+import hudson.model.Run;
+import hudson.tasks.junit.TestResultAction;
+
+import io.jenkins.plugins.analysis.core.model.ResultAction;
+import io.jenkins.plugins.coverage.metrics.steps.CoverageBuildAction;
+
+/**
+ * Indexes the result actions of a run that are used during the grading. The actions of a given type are scanned only
+ * once, all subsequent lookups of a tool are answered by a map lookup. The index is created once per grading and shared
+ * by all report factories.
+ *
+ * @author Ullrich Hafner
+ */
+class RunActionIndex {
+    private final Run<?, ?> run;
+
+    @CheckForNull
+    private Map<String, ResultAction> analysisActions;
+    @CheckForNull
+    private Map<String, CoverageBuildAction> coverageActions;
+    @CheckForNull
+    private List<TestResultAction> testActions;
+    @CheckForNull
+    private Set<String> blockNames;
+
+    /**
+     * Creates a new instance of {@link RunActionIndex}.
+     *
+     * @param run
+     *         the run with the actions to index
+     */
+    RunActionIndex(final Run<?, ?> run) {
+        this.run = run;
+    }
+
+    Run<?, ?> getRun() {
+        return run;
+    }
+
+    /**
+     * Scans all supported action types of the run. Afterward, all lookups are answered from the index so that
+     * messages about duplicate IDs are reported in the specified log only.
+     *
+     * @param log
+     *         the logger
+     */
+    void indexAll(final FilteredLog log) {
+        findAnalysisAction(StringUtils.EMPTY, log);
+        findCoverageAction(StringUtils.EMPTY, log);
+    }
+
+    /**
+     * Returns the static analysis result action with the specified ID.
+     *
+     * @param id
+     *         the ID of the action
+     * @param log
+     *         the logger
+     *
+     * @return the action, or an empty optional if there is no such action
+     */
+    synchronized Optional<ResultAction> findAnalysisAction(final String id, final FilteredLog log) {
+        if (analysisActions == null) {
+            analysisActions = index(ResultAction.class, ResultAction::getId, log);
+        }
+        return Optional.ofNullable(analysisActions.get(id));
+    }
+
+    /**
+     * Returns the coverage result action with the specified URL name.
+     *
+     * @param id
+     *         the URL name of the action
+     * @param log
+     *         the logger
+     *
+     * @return the action, or an empty optional if there is no such action
+     */
+    synchronized Optional<CoverageBuildAction> findCoverageAction(final String id, final FilteredLog log) {
+        if (coverageActions == null) {
+            coverageActions = index(CoverageBuildAction.class, CoverageBuildAction::getUrlName, log);
+        }
+        return Optional.ofNullable(coverageActions.get(id));
+    }
+
+    /**
+     * Returns all test result actions of the run.
+     *
+     * @return the test result actions
+     */
+    synchronized List<TestResultAction> findTestActions() {
+        if (testActions == null) {
+            testActions = List.copyOf(run.getActions(TestResultAction.class));
+        }
+        return testActions;
+    }
+
+    /**
+     * Returns the names of all stages and parallel branches of the run. The names are read from the flow graph of a
+     * Pipeline, so the test results of the run do not need to be loaded. For other runs, the set is empty.
+     *
+     * @return the names of the stages and parallel branches
+     */
+    synchronized Set<String> findBlockNames() {
+        if (blockNames == null) {
+            blockNames = scanBlockNames();
+        }
+        return blockNames;
+    }
+
+    private Set<String> scanBlockNames() {
+        if (run instanceof FlowExecutionOwner.Executable executable) {
+            var owner = executable.asFlowExecutionOwner();
+            var execution = owner == null ? null : owner.getOrNull();
+            if (execution != null) {
+                Set<String> names = new HashSet<>();
+                for (FlowNode node : new DepthFirstScanner().allNodes(execution)) {
+                    var label = node.getPersistentAction(LabelAction.class);
+                    if (label != null) {
+                        names.add(label.getDisplayName());
+                    }
+                }
+                return Set.copyOf(names);
+            }
+        }
+        return Set.of();
+    }
+
+    private <T extends Action> Map<String, T> index(final Class<T> type, final Function<T, String> idMapper,
+            final FilteredLog log) {
+        Map<String, T> actions = new HashMap<>();
+        for (T action : run.getActions(type)) {
+            var id = idMapper.apply(action);
+            if (actions.putIfAbsent(id, action) != null) {
+                log.logError("Skipping duplicate %s with ID '%s'", type.getSimpleName(), id);
+            }
+        }
+        return actions;
+    }
+}
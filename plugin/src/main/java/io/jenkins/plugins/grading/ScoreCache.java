@@ -0,0 +1,250 @@
+package io.jenkins.plugins.grading;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import edu.hm.hafner.grading.AggregatedScore;
+import edu.hm.hafner.grading.Score;
+import edu.hm.hafner.util.VisibleForTesting;
+
+import hudson.Extension;
+import hudson.model.Run;
+import hudson.model.listeners.RunListener;
+import jenkins.util.SystemProperties;
+
+/**
+ * Controller-wide cache of the scores that have been loaded from the result files of the builds. Otherwise, the scores
+ * are held by weak references only, so they are reloaded from disk whenever the garbage collector has reclaimed them.
+ * The cache is bounded by the estimated memory weight of the cached scores, the least recently used scores are evicted
+ * first. The capacity (in KB) can be changed with the system property
+ * {@code io.jenkins.plugins.grading.ScoreCache.capacity}. The statistics of the cache are shown on the
+ * {@link AutoGradingCachesLink management page}.
+ *
+ * @author Ullrich Hafner
+ */
+final class ScoreCache {
+    private static final int DEFAULT_CAPACITY_KB = 64 * 1024;
+    private static final ScoreCache INSTANCE = new ScoreCache(1024L
+            * SystemProperties.getInteger(ScoreCache.class.getName() + ".capacity", DEFAULT_CAPACITY_KB),
+            ScoreCache::estimateWeight);
+
+    private static final int BASE_WEIGHT = 1024;
+    private static final int SCORE_WEIGHT = 512;
+    private static final int CHARACTER_WEIGHT = 2;
+
+    private final long capacity;
+    private final ToLongFunction<AggregatedScore> weigher;
+    private final Map<Path, CachedScore> scores = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Path, CompletableFuture<AggregatedScore>> loading = new HashMap<>(); // guarded by scores
+    private long weight;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Returns the controller-wide cache.
+     *
+     * @return the cache
+     */
+    static ScoreCache get() {
+        return INSTANCE;
+    }
+
+    @VisibleForTesting
+    ScoreCache(final long capacity, final ToLongFunction<AggregatedScore> weigher) {
+        this.capacity = capacity;
+        this.weigher = weigher;
+    }
+
+    /**
+     * Estimates the memory weight of the specified score in bytes. The estimation is based on the scores and
+     * sub-scores of all categories, each with its ID and name. The log messages are not part of the stored results
+     * anymore (see {@link GradingLogStore}), only results of older releases still contain them.
+     *
+     * @param score
+     *         the score
+     *
+     * @return the estimated weight
+     */
+    static long estimateWeight(final AggregatedScore score) {
+        long estimated = BASE_WEIGHT;
+        for (List<? extends Score<?, ?>> tools : List.of(score.getAnalysisScores(), score.getTestScores(),
+                score.getCodeCoverageScores(), score.getMutationCoverageScores())) {
+            for (Score<?, ?> tool : tools) {
+                estimated += estimateWeight(tool);
+                for (Score<?, ?> subScore : tool.getSubScores()) {
+                    estimated += estimateWeight(subScore);
+                }
+            }
+        }
+        for (String message : score.getInfoMessages()) {
+            estimated += (long) CHARACTER_WEIGHT * message.length();
+        }
+        for (String message : score.getErrorMessages()) {
+            estimated += (long) CHARACTER_WEIGHT * message.length();
+        }
+        return estimated;
+    }
+
+    private static long estimateWeight(final Score<?, ?> score) {
+        return SCORE_WEIGHT + (long) CHARACTER_WEIGHT * (score.getId().length() + score.getName().length());
+    }
+
+    /**
+     * Returns the score of the specified result file. If the score is not yet part of the cache, it will be loaded
+     * and added to the cache. If several threads request the same missing score, then only the first thread loads
+     * the score, the other threads wait for the result of this thread.
+     *
+     * @param file
+     *         the result file of the score
+     * @param loader
+     *         loads the score from the result file
+     *
+     * @return the score
+     */
+    AggregatedScore get(final Path file, final Supplier<AggregatedScore> loader) {
+        var load = new CompletableFuture<AggregatedScore>();
+        CompletableFuture<AggregatedScore> running;
+        synchronized (scores) {
+            var cached = scores.get(file);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached.score();
+            }
+            running = loading.putIfAbsent(file, load);
+        }
+        if (running != null) {
+            hits.incrementAndGet();
+            return await(running);
+        }
+
+        misses.incrementAndGet();
+        try {
+            var score = loader.get();
+            put(file, score, load);
+            load.complete(score);
+            return score;
+        }
+        catch (RuntimeException exception) {
+            load.completeExceptionally(exception);
+            throw exception;
+        }
+        finally {
+            synchronized (scores) {
+                loading.remove(file, load);
+            }
+        }
+    }
+
+    private AggregatedScore await(final CompletableFuture<AggregatedScore> running) {
+        try {
+            return running.join();
+        }
+        catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw exception;
+        }
+    }
+
+    private void put(final Path file, final AggregatedScore score, final CompletableFuture<AggregatedScore> load) {
+        long scoreWeight = weigher.applyAsLong(score);
+        if (scoreWeight > capacity) {
+            return; // would evict all other scores
+        }
+        synchronized (scores) {
+            if (loading.get(file) != load) {
+                return; // the score has been invalidated while it has been loaded
+            }
+            var previous = scores.put(file, new CachedScore(score, scoreWeight));
+            if (previous != null) {
+                weight -= previous.weight();
+            }
+            weight += scoreWeight;
+
+            Iterator<CachedScore> eldest = scores.values().iterator();
+            while (weight > capacity && eldest.hasNext()) {
+                weight -= eldest.next().weight();
+                eldest.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Removes the score of the specified result file from the cache.
+     *
+     * @param file
+     *         the result file of the score
+     */
+    void invalidate(final Path file) {
+        synchronized (scores) {
+            loading.remove(file);
+            var removed = scores.remove(file);
+            if (removed != null) {
+                weight -= removed.weight();
+            }
+        }
+    }
+
+    long getHitCount() {
+        return hits.get();
+    }
+
+    long getMissCount() {
+        return misses.get();
+    }
+
+    long getEvictionCount() {
+        return evictions.get();
+    }
+
+    long getCapacity() {
+        return capacity;
+    }
+
+    long getWeight() {
+        synchronized (scores) {
+            return weight;
+        }
+    }
+
+    int size() {
+        synchronized (scores) {
+            return scores.size();
+        }
+    }
+
+    /**
+     * A cached score and its estimated weight.
+     *
+     * @param score
+     *         the score
+     * @param weight
+     *         the estimated weight of the score
+     */
+    private record CachedScore(AggregatedScore score, long weight) {
+    }
+
+    /**
+     * Removes the scores of deleted builds from the cache.
+     */
+    @Extension
+    public static class InvalidateOnDeletion extends RunListener<Run<?, ?>> {
+        @Override
+        public void onDeleted(final Run<?, ?> run) {
+            get().invalidate(run.getRootDir().toPath().resolve(CompressedScoreStream.FILE_NAME));
+        }
+    }
+}
@@ -0,0 +1,829 @@
+package io.jenkins.plugins.grading;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import edu.hm.hafner.util.VisibleForTesting;
+
+import hudson.Extension;
+import hudson.model.Item;
+import hudson.model.Job;
+import hudson.model.Run;
+import hudson.model.listeners.ItemListener;
+import hudson.model.listeners.RunListener;
+
+import io.jenkins.plugins.grading.ScoreSummary.CategorySummary;
+
+/**
+ * Stores the scores of all builds of a job in a memory-mapped file with fixed-width columns. The store provides range
+ * queries, the latest builds (for the trend chart), and percentiles over the scores of thousands of builds without
+ * loading the results of these builds: a query reads only the required columns of the mapped file. If the store is
+ * missing or corrupt, then it is rebuilt from the build actions of the job. Deleted builds (e.g., builds that have been
+ * removed by the log rotation) are marked as deleted by the {@link DeletedBuildListener}, the marked rows are removed
+ * once they make up half of the store. The in-memory state of stores of removed jobs is evicted by the
+ * {@link RemovedJobListener}.
+ *
+ * <p>
+ * The file starts with a header that contains a magic number, the version of the format, the capacity (the number of
+ * rows that fit into each column), the number of rows, the number of deleted rows, and a flag that marks the file as
+ * inconsistent while rows are moved. The header is followed by the columns, see {@link Column}. The rows are sorted by
+ * the build number.
+ * </p>
+ *
+ * <p>
+ * Opening the store checks the header only. The order of the build numbers is verified just once for each generation
+ * of the file: the generation changes if the file is replaced (e.g., by a rebuild) or resized. Rows are moved only
+ * while the file is marked as inconsistent, so a store that has been verified once stays valid while it is modified
+ * by this class.
+ * </p>
+ *
+ * <p>
+ * The JDK provides no API to release a mapping, the mapped buffers are released by the garbage collector. On Windows,
+ * a file can't be replaced or deleted while it is still mapped. Therefore, a rebuild or the removal of a corrupt store
+ * might fail on Windows until the buffers of previous accesses have been collected. In this case, the failure is
+ * logged, and the rebuild is retried on the next access. The replacement file of a rebuild is written without a
+ * mapping, so it is never locked.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+class ScoreColumnStore {
+    private static final Logger LOGGER = Logger.getLogger(ScoreColumnStore.class.getName());
+    private static final Map<Path, Object> LOCKS = new ConcurrentHashMap<>();
+    private static final Map<Path, Generation> VALIDATED = new ConcurrentHashMap<>();
+
+    static final String FILE_NAME = "auto-grading-scores.dat";
+
+    private static final int MAGIC = 0x41474353; // 'AGCS'
+    private static final int VERSION = 1;
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int PERCENTAGE = 100;
+
+    private static final int MAGIC_POSITION = 0;
+    private static final int VERSION_POSITION = 4;
+    private static final int CAPACITY_POSITION = 8;
+    private static final int SIZE_POSITION = 12;
+    private static final int DELETED_POSITION = 16;
+    private static final int DIRTY_POSITION = 20;
+    private static final int HEADER_SIZE = 32;
+
+    private static final byte DELETED = 1;
+    private static final byte TESTS = 1 << 1;
+    private static final byte CODE_COVERAGE = 1 << 2;
+    private static final byte MUTATION_COVERAGE = 1 << 3;
+    private static final byte ANALYSIS = 1 << 4;
+
+    private final Path file;
+
+    /**
+     * Returns the store of the specified job.
+     *
+     * @param job
+     *         the job
+     *
+     * @return the store of the job
+     */
+    static ScoreColumnStore of(final Job<?, ?> job) {
+        return new ScoreColumnStore(job.getRootDir().toPath().resolve(FILE_NAME));
+    }
+
+    /**
+     * Stores the summary of the specified build in the store of its job.
+     *
+     * @param build
+     *         the build
+     * @param summary
+     *         the summary of the build
+     */
+    static void put(final Run<?, ?> build, final ScoreSummary summary) {
+        of(build.getParent()).put(new ScoreRow(build.getNumber(), build.getTimeInMillis(), summary),
+                () -> collectRows(build.getParent()));
+    }
+
+    /**
+     * Returns the scores of the builds of the specified job in the given range of build numbers.
+     *
+     * @param job
+     *         the job
+     * @param from
+     *         the first build number (inclusive)
+     * @param to
+     *         the last build number (inclusive)
+     *
+     * @return the scores of the builds, sorted by the build number
+     */
+    static List<ScoreRow> query(final Job<?, ?> job, final int from, final int to) {
+        return of(job).query(from, to, () -> collectRows(job));
+    }
+
+    /**
+     * Returns the scores of the latest builds of the specified job.
+     *
+     * @param job
+     *         the job
+     * @param count
+     *         the maximum number of builds
+     *
+     * @return the scores of the latest builds, sorted by the build number
+     */
+    static List<ScoreRow> latest(final Job<?, ?> job, final int count) {
+        return of(job).latest(count, () -> collectRows(job));
+    }
+
+    /**
+     * Returns the specified percentile of the total score (as a percentage of the maximum score) of the builds of the
+     * specified job in the given range of build numbers.
+     *
+     * @param job
+     *         the job
+     * @param from
+     *         the first build number (inclusive)
+     * @param to
+     *         the last build number (inclusive)
+     * @param percentile
+     *         the percentile, in the range [0, 100]
+     *
+     * @return the percentile, or an empty optional if there are no builds in the range
+     */
+    static OptionalInt percentile(final Job<?, ?> job, final int from, final int to, final int percentile) {
+        return of(job).percentile(from, to, percentile, () -> collectRows(job));
+    }
+
+    private static List<ScoreRow> collectRows(final Job<?, ?> job) {
+        List<ScoreRow> rows = new ArrayList<>();
+        for (Run<?, ?> build : job.getBuilds()) {
+            var action = build.getAction(AutoGradingBuildAction.class);
+            if (action != null) {
+                rows.add(new ScoreRow(build.getNumber(), build.getTimeInMillis(), action.getSummary()));
+            }
+        }
+        return rows;
+    }
+
+    ScoreColumnStore(final Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Stores the specified row. If the store already contains a row for the same build, then this row is replaced.
+     *
+     * @param row
+     *         the row to store
+     * @param rows
+     *         provides the rows of all builds if the store needs to be rebuilt
+     */
+    void put(final ScoreRow row, final Supplier<List<ScoreRow>> rows) {
+        synchronized (getLock()) {
+            try {
+                var columns = open(rows);
+                int index = columns.search(row.build());
+                if (index >= 0) {
+                    if (columns.isDeleted(index)) {
+                        columns.setDeleted(columns.getDeleted() - 1);
+                    }
+                    columns.write(index, row);
+                }
+                else {
+                    columns = columns.ensureCapacity(columns.getSize() + 1);
+                    columns.insert(-index - 1, row);
+                }
+                columns.force();
+            }
+            catch (IOException | RuntimeException exception) {
+                LOGGER.log(Level.SEVERE, "Failed to store the score of build " + row.build() + " in " + file,
+                        exception);
+            }
+        }
+    }
+
+    /**
+     * Marks the row of the specified build as deleted. If the deleted rows make up half of the store, then these rows
+     * are removed.
+     *
+     * @param build
+     *         the number of the build
+     */
+    void delete(final int build) {
+        synchronized (getLock()) {
+            if (!Files.exists(file)) {
+                return; // the store will be created from the remaining builds on demand
+            }
+            try {
+                var columns = map();
+                if (!isValid(columns)) {
+                    Files.delete(file); // the store will be rebuilt from the remaining builds on demand
+                    return;
+                }
+                int index = columns.search(build);
+                if (index < 0 || columns.isDeleted(index)) {
+                    return;
+                }
+                columns.markDeleted(index);
+                columns.setDeleted(columns.getDeleted() + 1);
+                if (columns.getDeleted() * 2 >= columns.getSize()) {
+                    columns.compact();
+                }
+                columns.force();
+            }
+            catch (IOException | RuntimeException exception) {
+                LOGGER.log(Level.SEVERE, "Failed to delete the score of build " + build + " in " + file, exception);
+            }
+        }
+    }
+
+    /**
+     * Returns the rows in the given range of build numbers.
+     *
+     * @param from
+     *         the first build number (inclusive)
+     * @param to
+     *         the last build number (inclusive)
+     * @param rows
+     *         provides the rows of all builds if the store needs to be rebuilt
+     *
+     * @return the rows, sorted by the build number
+     */
+    List<ScoreRow> query(final int from, final int to, final Supplier<List<ScoreRow>> rows) {
+        synchronized (getLock()) {
+            try {
+                var columns = open(rows);
+                List<ScoreRow> result = new ArrayList<>();
+                for (int index = columns.lowerBound(from); index < columns.getSize(); index++) {
+                    if (columns.getBuild(index) > to) {
+                        break;
+                    }
+                    if (!columns.isDeleted(index)) {
+                        result.add(columns.read(index));
+                    }
+                }
+                return result;
+            }
+            catch (IOException | RuntimeException exception) {
+                LOGGER.log(Level.SEVERE, "Failed to query the scores in " + file, exception);
+                return List.of();
+            }
+        }
+    }
+
+    /**
+     * Returns the rows of the latest builds.
+     *
+     * @param count
+     *         the maximum number of rows
+     * @param rows
+     *         provides the rows of all builds if the store needs to be rebuilt
+     *
+     * @return the rows, sorted by the build number
+     */
+    List<ScoreRow> latest(final int count, final Supplier<List<ScoreRow>> rows) {
+        synchronized (getLock()) {
+            try {
+                var columns = open(rows);
+                Deque<ScoreRow> result = new ArrayDeque<>();
+                for (int index = columns.getSize() - 1; index >= 0 && result.size() < count; index--) {
+                    if (!columns.isDeleted(index)) {
+                        result.addFirst(columns.read(index));
+                    }
+                }
+                return List.copyOf(result);
+            }
+            catch (IOException | RuntimeException exception) {
+                LOGGER.log(Level.SEVERE, "Failed to query the scores in " + file, exception);
+                return List.of();
+            }
+        }
+    }
+
+    /**
+     * Returns the specified percentile of the total score (as a percentage of the maximum score) of the builds in the
+     * given range of build numbers. The percentile is computed with the nearest-rank method.
+     *
+     * @param from
+     *         the first build number (inclusive)
+     * @param to
+     *         the last build number (inclusive)
+     * @param percentile
+     *         the percentile, in the range [0, 100]
+     * @param rows
+     *         provides the rows of all builds if the store needs to be rebuilt
+     *
+     * @return the percentile, or an empty optional if there are no builds in the range
+     */
+    OptionalInt percentile(final int from, final int to, final int percentile, final Supplier<List<ScoreRow>> rows) {
+        if (percentile < 0 || percentile > PERCENTAGE) {
+            throw new IllegalArgumentException("Percentile must be in the range [0, 100]: " + percentile);
+        }
+        synchronized (getLock()) {
+            try {
+                var columns = open(rows);
+                int start = columns.lowerBound(from);
+                int[] percentages = new int[Math.max(0, columns.upperBound(to) - start)];
+                int count = 0;
+                for (int index = start; index < start + percentages.length; index++) {
+                    if (!columns.isDeleted(index)) {
+                        percentages[count++] = toPercentage(columns.getInt(Column.ACHIEVED, index),
+                                columns.getInt(Column.TOTAL, index));
+                    }
+                }
+                if (count == 0) {
+                    return OptionalInt.empty();
+                }
+                Arrays.sort(percentages, 0, count);
+                int rank = (int) Math.ceil(percentile / (double) PERCENTAGE * count);
+                return OptionalInt.of(percentages[Math.max(0, rank - 1)]);
+            }
+            catch (IOException | RuntimeException exception) {
+                LOGGER.log(Level.SEVERE, "Failed to query the scores in " + file, exception);
+                return OptionalInt.empty();
+            }
+        }
+    }
+
+    private static int toPercentage(final int achieved, final int total) {
+        return total == 0 ? 0 : achieved * PERCENTAGE / total;
+    }
+
+    private Object getLock() {
+        return LOCKS.computeIfAbsent(file.toAbsolutePath(), key -> new Object());
+    }
+
+    /**
+     * Removes the locks and the verified generations of all stores whose job directory does not exist anymore, e.g.,
+     * since the job has been deleted, renamed, or moved.
+     */
+    static void evictRemovedJobs() {
+        LOCKS.keySet().removeIf(ScoreColumnStore::isRemoved);
+        VALIDATED.keySet().removeIf(ScoreColumnStore::isRemoved);
+    }
+
+    private static boolean isRemoved(final Path store) {
+        return !Files.isDirectory(store.getParent());
+    }
+
+    @VisibleForTesting
+    static boolean isTracked(final Path store) {
+        return LOCKS.containsKey(store.toAbsolutePath()) || VALIDATED.containsKey(store.toAbsolutePath());
+    }
+
+    private Columns open(final Supplier<List<ScoreRow>> rows) throws IOException {
+        if (Files.exists(file)) {
+            var columns = map();
+            if (isValid(columns)) {
+                return columns;
+            }
+            LOGGER.log(Level.WARNING, "Rebuilding the autograding score store {0}: corrupt file", file);
+        }
+        rebuild(rows.get());
+        return map();
+    }
+
+    private boolean isValid(final Columns columns) throws IOException {
+        var key = file.toAbsolutePath();
+        if (!columns.hasValidHeader()) {
+            VALIDATED.remove(key);
+            return false;
+        }
+        var generation = Generation.of(file);
+        if (generation.equals(VALIDATED.get(key))) {
+            return true;
+        }
+        if (!columns.hasSortedRows()) {
+            VALIDATED.remove(key);
+            return false;
+        }
+        VALIDATED.put(key, generation);
+        return true;
+    }
+
+    private Columns map() throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (channel.size() < HEADER_SIZE) {
+                return new Columns(channel.map(MapMode.READ_WRITE, 0, HEADER_SIZE));
+            }
+            return new Columns(channel.map(MapMode.READ_WRITE, 0, channel.size()));
+        }
+    }
+
+    private void rebuild(final List<ScoreRow> rows) throws IOException {
+        var sorted = rows.stream()
+                .sorted(Comparator.comparingInt(ScoreRow::build))
+                .toList();
+        int capacity = INITIAL_CAPACITY;
+        while (capacity < sorted.size()) {
+            capacity *= 2;
+        }
+        var columns = new Columns(ByteBuffer.allocate(Math.toIntExact(Column.getFileSize(capacity))));
+        columns.initialize(capacity);
+        for (ScoreRow row : sorted) {
+            int index = columns.search(row.build());
+            if (index >= 0) {
+                columns.write(index, row); // duplicate build number
+            }
+            else {
+                columns.write(columns.getSize(), row);
+                columns.setSize(columns.getSize() + 1);
+            }
+        }
+
+        var temporary = Files.createTempFile(file.toAbsolutePath().getParent(), FILE_NAME, ".tmp");
+        try {
+            try (var channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                var content = columns.buffer.duplicate().clear();
+                while (content.hasRemaining()) {
+                    channel.write(content);
+                }
+                channel.force(true);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        finally {
+            Files.deleteIfExists(temporary); // the temporary file still exists if the store has not been replaced
+        }
+    }
+
+    /**
+     * The columns of the store. Each column stores the values of all rows consecutively, the width of a value is
+     * fixed.
+     */
+    private enum Column {
+        BUILD(Integer.BYTES),
+        TIMESTAMP(Long.BYTES),
+        FLAGS(Byte.BYTES),
+        ACHIEVED(Integer.BYTES),
+        TOTAL(Integer.BYTES),
+        TESTS_ACHIEVED(Integer.BYTES),
+        TESTS_MAX(Integer.BYTES),
+        CODE_COVERAGE_ACHIEVED(Integer.BYTES),
+        CODE_COVERAGE_MAX(Integer.BYTES),
+        MUTATION_COVERAGE_ACHIEVED(Integer.BYTES),
+        MUTATION_COVERAGE_MAX(Integer.BYTES),
+        ANALYSIS_ACHIEVED(Integer.BYTES),
+        ANALYSIS_MAX(Integer.BYTES);
+
+        private final int width;
+
+        Column(final int width) {
+            this.width = width;
+        }
+
+        int getWidth() {
+            return width;
+        }
+
+        int getOffset(final int capacity) {
+            int offset = HEADER_SIZE;
+            for (Column column : values()) {
+                if (column == this) {
+                    return offset;
+                }
+                offset += column.width * capacity;
+            }
+            throw new IllegalStateException("Unknown column " + this);
+        }
+
+        int getPosition(final int capacity, final int index) {
+            return getOffset(capacity) + index * width;
+        }
+
+        static long getFileSize(final int capacity) {
+            long rowWidth = 0;
+            for (Column column : values()) {
+                rowWidth += column.width;
+            }
+            return HEADER_SIZE + rowWidth * capacity;
+        }
+    }
+
+    /**
+     * Identifies a generation of the file: the file is replaced by a rebuild and grows if its capacity is enlarged.
+     *
+     * @param fileKey
+     *         the key that identifies the file, might be {@code null} if the file system provides no such key
+     * @param size
+     *         the size of the file
+     */
+    private record Generation(Object fileKey, long size) {
+        static Generation of(final Path file) throws IOException {
+            var attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return new Generation(attributes.fileKey(), attributes.size());
+        }
+    }
+
+    /** Provides access to the header and the columns of a mapped file. */
+    private final class Columns {
+        private final ByteBuffer buffer;
+
+        Columns(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        void initialize(final int capacity) {
+            buffer.putInt(MAGIC_POSITION, MAGIC);
+            buffer.putInt(VERSION_POSITION, VERSION);
+            buffer.putInt(CAPACITY_POSITION, capacity);
+            buffer.putInt(SIZE_POSITION, 0);
+            buffer.putInt(DELETED_POSITION, 0);
+            buffer.put(DIRTY_POSITION, (byte) 0);
+        }
+
+        boolean hasValidHeader() {
+            if (buffer.capacity() < HEADER_SIZE || buffer.getInt(MAGIC_POSITION) != MAGIC
+                    || buffer.getInt(VERSION_POSITION) != VERSION || buffer.get(DIRTY_POSITION) != 0) {
+                return false;
+            }
+            int capacity = getCapacity();
+            int size = getSize();
+            int deleted = getDeleted();
+            return capacity > 0 && size >= 0 && size <= capacity && deleted >= 0 && deleted <= size
+                    && buffer.capacity() >= Column.getFileSize(capacity);
+        }
+
+        boolean hasSortedRows() {
+            int size = getSize();
+            for (int index = 1; index < size; index++) {
+                if (getBuild(index - 1) >= getBuild(index)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        int getCapacity() {
+            return buffer.getInt(CAPACITY_POSITION);
+        }
+
+        int getSize() {
+            return buffer.getInt(SIZE_POSITION);
+        }
+
+        void setSize(final int size) {
+            buffer.putInt(SIZE_POSITION, size);
+        }
+
+        int getDeleted() {
+            return buffer.getInt(DELETED_POSITION);
+        }
+
+        void setDeleted(final int deleted) {
+            buffer.putInt(DELETED_POSITION, deleted);
+        }
+
+        void setDirty(final boolean dirty) {
+            buffer.put(DIRTY_POSITION, dirty ? (byte) 1 : 0);
+            force();
+        }
+
+        int getBuild(final int index) {
+            return getInt(Column.BUILD, index);
+        }
+
+        int getInt(final Column column, final int index) {
+            return buffer.getInt(column.getPosition(getCapacity(), index));
+        }
+
+        boolean isDeleted(final int index) {
+            return (buffer.get(Column.FLAGS.getPosition(getCapacity(), index)) & DELETED) != 0;
+        }
+
+        void markDeleted(final int index) {
+            int position = Column.FLAGS.getPosition(getCapacity(), index);
+            buffer.put(position, (byte) (buffer.get(position) | DELETED));
+        }
+
+        /**
+         * Returns the index of the specified build. If the build is not part of the store, then {@code -(insertion
+         * point) - 1} is returned.
+         */
+        int search(final int build) {
+            int low = 0;
+            int high = getSize() - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                int current = getBuild(middle);
+                if (current < build) {
+                    low = middle + 1;
+                }
+                else if (current > build) {
+                    high = middle - 1;
+                }
+                else {
+                    return middle;
+                }
+            }
+            return -(low + 1);
+        }
+
+        /** Returns the index of the first row with a build number greater than or equal to the specified build. */
+        int lowerBound(final int build) {
+            int index = search(build);
+            return index >= 0 ? index : -index - 1;
+        }
+
+        /** Returns the index of the first row with a build number greater than the specified build. */
+        int upperBound(final int build) {
+            int index = search(build);
+            return index >= 0 ? index + 1 : -index - 1;
+        }
+
+        ScoreRow read(final int index) {
+            byte flags = buffer.get(Column.FLAGS.getPosition(getCapacity(), index));
+            return new ScoreRow(getBuild(index),
+                    buffer.getLong(Column.TIMESTAMP.getPosition(getCapacity(), index)),
+                    new ScoreSummary(getInt(Column.ACHIEVED, index), getInt(Column.TOTAL, index),
+                            new CategorySummary((flags & TESTS) != 0,
+                                    getInt(Column.TESTS_ACHIEVED, index), getInt(Column.TESTS_MAX, index)),
+                            new CategorySummary((flags & CODE_COVERAGE) != 0,
+                                    getInt(Column.CODE_COVERAGE_ACHIEVED, index),
+                                    getInt(Column.CODE_COVERAGE_MAX, index)),
+                            new CategorySummary((flags & MUTATION_COVERAGE) != 0,
+                                    getInt(Column.MUTATION_COVERAGE_ACHIEVED, index),
+                                    getInt(Column.MUTATION_COVERAGE_MAX, index)),
+                            new CategorySummary((flags & ANALYSIS) != 0,
+                                    getInt(Column.ANALYSIS_ACHIEVED, index), getInt(Column.ANALYSIS_MAX, index))));
+        }
+
+        void write(final int index, final ScoreRow row) {
+            int capacity = getCapacity();
+            var summary = row.summary();
+            buffer.putInt(Column.BUILD.getPosition(capacity, index), row.build());
+            buffer.putLong(Column.TIMESTAMP.getPosition(capacity, index), row.timestamp());
+            buffer.put(Column.FLAGS.getPosition(capacity, index), getFlags(summary));
+            putInt(Column.ACHIEVED, index, summary.getAchieved());
+            putInt(Column.TOTAL, index, summary.getTotal());
+            putInt(Column.TESTS_ACHIEVED, index, summary.getTests().getAchieved());
+            putInt(Column.TESTS_MAX, index, summary.getTests().getMax());
+            putInt(Column.CODE_COVERAGE_ACHIEVED, index, summary.getCodeCoverage().getAchieved());
+            putInt(Column.CODE_COVERAGE_MAX, index, summary.getCodeCoverage().getMax());
+            putInt(Column.MUTATION_COVERAGE_ACHIEVED, index, summary.getMutationCoverage().getAchieved());
+            putInt(Column.MUTATION_COVERAGE_MAX, index, summary.getMutationCoverage().getMax());
+            putInt(Column.ANALYSIS_ACHIEVED, index, summary.getAnalysis().getAchieved());
+            putInt(Column.ANALYSIS_MAX, index, summary.getAnalysis().getMax());
+        }
+
+        private void putInt(final Column column, final int index, final int value) {
+            buffer.putInt(column.getPosition(getCapacity(), index), value);
+        }
+
+        private byte getFlags(final ScoreSummary summary) {
+            int flags = 0;
+            if (summary.getTests().isAvailable()) {
+                flags |= TESTS;
+            }
+            if (summary.getCodeCoverage().isAvailable()) {
+                flags |= CODE_COVERAGE;
+            }
+            if (summary.getMutationCoverage().isAvailable()) {
+                flags |= MUTATION_COVERAGE;
+            }
+            if (summary.getAnalysis().isAvailable()) {
+                flags |= ANALYSIS;
+            }
+            return (byte) flags;
+        }
+
+        /**
+         * Inserts the specified row at the given index, the subsequent rows are moved by one row. Builds usually
+         * complete in the order of their build numbers, so typically no rows need to be moved.
+         */
+        void insert(final int index, final ScoreRow row) {
+            int size = getSize();
+            if (index < size) {
+                setDirty(true);
+                int capacity = getCapacity();
+                for (Column column : Column.values()) {
+                    move(column.getPosition(capacity, index), column.getPosition(capacity, index + 1),
+                            (size - index) * column.getWidth());
+                }
+            }
+            write(index, row);
+            setSize(size + 1);
+            setDirty(false);
+        }
+
+        /**
+         * Returns columns with at least the specified capacity. If the capacity is not sufficient, then the file is
+         * enlarged and the columns are moved to their new positions.
+         */
+        Columns ensureCapacity(final int required) throws IOException {
+            int capacity = getCapacity();
+            if (required <= capacity) {
+                return this;
+            }
+            int enlarged = capacity;
+            while (enlarged < required) {
+                enlarged *= 2;
+            }
+            try (var channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                var columns = new Columns(channel.map(MapMode.READ_WRITE, 0, Column.getFileSize(enlarged)));
+                columns.setDirty(true);
+                int size = getSize();
+                var values = Column.values();
+                for (int i = values.length - 1; i >= 0; i--) { // new offsets are greater than the old offsets
+                    columns.move(values[i].getOffset(capacity), values[i].getOffset(enlarged),
+                            size * values[i].getWidth());
+                }
+                columns.buffer.putInt(CAPACITY_POSITION, enlarged);
+                columns.setDirty(false);
+                return columns;
+            }
+        }
+
+        /** Removes the rows that are marked as deleted. */
+        void compact() {
+            setDirty(true);
+            int capacity = getCapacity();
+            int size = getSize();
+            int live = 0;
+            for (int index = 0; index < size; index++) {
+                if (!isDeleted(index)) {
+                    if (live != index) {
+                        for (Column column : Column.values()) {
+                            move(column.getPosition(capacity, index), column.getPosition(capacity, live),
+                                    column.getWidth());
+                        }
+                    }
+                    live++;
+                }
+            }
+            setSize(live);
+            setDeleted(0);
+            setDirty(false);
+        }
+
+        private void move(final int from, final int to, final int length) {
+            if (length > 0 && from != to) {
+                var values = new byte[length];
+                buffer.get(from, values);
+                buffer.put(to, values);
+            }
+        }
+
+        void force() {
+            if (buffer instanceof MappedByteBuffer mapped) {
+                mapped.force();
+            }
+        }
+    }
+
+    /**
+     * The score of a build.
+     *
+     * @param build
+     *         the number of the build
+     * @param timestamp
+     *         the start time of the build in milliseconds
+     * @param summary
+     *         the summary of the score
+     */
+    record ScoreRow(int build, long timestamp, ScoreSummary summary) {
+    }
+
+    /**
+     * Marks the scores of deleted builds as deleted.
+     */
+    @Extension
+    public static class DeletedBuildListener extends RunListener<Run<?, ?>> {
+        @Override
+        public void onDeleted(final Run<?, ?> run) {
+            if (run.getAction(AutoGradingBuildAction.class) != null) {
+                of(run.getParent()).delete(run.getNumber());
+            }
+        }
+    }
+
+    /**
+     * Removes the in-memory state of the stores of jobs that have been deleted, renamed, or moved.
+     */
+    @Extension
+    public static class RemovedJobListener extends ItemListener {
+        @Override
+        public void onDeleted(final Item item) {
+            evictRemovedJobs();
+        }
+
+        @Override
+        public void onLocationChanged(final Item item, final String oldFullName, final String newFullName) {
+            evictRemovedJobs();
+        }
+    }
+}
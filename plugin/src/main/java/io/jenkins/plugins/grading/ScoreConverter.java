@@ -0,0 +1,196 @@
+package io.jenkins.plugins.grading;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.thoughtworks.xstream.converters.ConversionException;
+import com.thoughtworks.xstream.converters.Converter;
+import com.thoughtworks.xstream.converters.MarshallingContext;
+import com.thoughtworks.xstream.converters.UnmarshallingContext;
+import com.thoughtworks.xstream.converters.reflection.ReflectionProvider;
+import com.thoughtworks.xstream.core.util.HierarchicalStreams;
+import com.thoughtworks.xstream.io.HierarchicalStreamReader;
+import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+import com.thoughtworks.xstream.mapper.Mapper;
+
+/**
+ * Converts the score types of the autograding model by reading and writing their fields directly. The fields of the
+ * converted type (and the optional {@code readResolve} method) are resolved only once when the converter is created,
+ * so reading and writing a score requires no further reflective lookups. The XML format is the same as the format of
+ * the reflection based converter of XStream: every non-transient field is written as a child element with the name of
+ * the field, {@code null} values are skipped, and a class attribute is written if the actual type of a value is not
+ * the default implementation of the declared type. So existing files can still be read and new files can be read by
+ * older releases.
+ *
+ * <p>
+ * One converter instance is registered for each score type rather than writing a hand-coded converter for each type:
+ * the score types of the autograding model store their state in private final fields without setters, so a hand-coded
+ * converter would need to access the very same fields reflectively. Additionally, hand-coded lists of fields would
+ * silently miss new fields of a new release of the model. The speedup compared to the reflection based converter of
+ * XStream stems from skipping the per object field lookups, the tracking of already seen fields, and the checks for
+ * implicit collections.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+class ScoreConverter implements Converter {
+    private final Class<?> type;
+    private final Mapper mapper;
+    private final ReflectionProvider reflectionProvider;
+    private final List<Field> fields = new ArrayList<>();
+    private final Map<String, Field> fieldsByName = new HashMap<>();
+    private final boolean supported;
+    private final Optional<Method> readResolveMethod;
+
+    /**
+     * Creates a new converter for the specified type.
+     *
+     * @param type
+     *         the type to convert
+     * @param mapper
+     *         the mapper of the XStream instance
+     * @param reflectionProvider
+     *         the reflection provider of the XStream instance, used to create new instances
+     */
+    ScoreConverter(final Class<?> type, final Mapper mapper, final ReflectionProvider reflectionProvider) {
+        this.type = type;
+        this.mapper = mapper;
+        this.reflectionProvider = reflectionProvider;
+
+        supported = resolveFields(type);
+        readResolveMethod = findReadResolve(type);
+    }
+
+    private boolean resolveFields(final Class<?> convertedType) {
+        for (Class<?> current = convertedType; current != null && current != Object.class;
+                current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers)
+                        || !mapper.shouldSerializeMember(current, field.getName())) {
+                    continue;
+                }
+                if (fieldsByName.containsKey(field.getName())) {
+                    return false; // shadowed fields require the 'defined-in' attribute of the reflection converter
+                }
+                try {
+                    field.setAccessible(true);
+                }
+                catch (RuntimeException exception) {
+                    return false;
+                }
+                fields.add(field);
+                fieldsByName.put(field.getName(), field);
+            }
+        }
+        return true;
+    }
+
+    private static Optional<Method> findReadResolve(final Class<?> convertedType) {
+        for (Class<?> current = convertedType; current != null && current != Object.class;
+                current = current.getSuperclass()) {
+            try {
+                var method = current.getDeclaredMethod("readResolve");
+                method.setAccessible(true);
+                return Optional.of(method);
+            }
+            catch (NoSuchMethodException exception) {
+                // continue with the superclass
+            }
+            catch (RuntimeException exception) {
+                return Optional.empty();
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns whether this converter can convert instances of its type. Types with shadowed fields or inaccessible
+     * fields are not supported, these types should be converted by the reflection based converter.
+     *
+     * @return {@code true} if this converter is supported, {@code false} otherwise
+     */
+    boolean isSupported() {
+        return supported;
+    }
+
+    @Override
+    public boolean canConvert(final Class convertedType) {
+        return supported && convertedType == type;
+    }
+
+    @Override
+    public void marshal(final Object source, final HierarchicalStreamWriter writer,
+            final MarshallingContext context) {
+        for (Field field : fields) {
+            var value = get(field, source);
+            if (value == null) {
+                continue;
+            }
+            writer.startNode(mapper.serializedMember(field.getDeclaringClass(), field.getName()));
+            var actualType = mapper.serializedClass(value.getClass());
+            var classAttribute = mapper.aliasForSystemAttribute("class");
+            if (classAttribute != null
+                    && !actualType.equals(mapper.serializedClass(mapper.defaultImplementationOf(field.getType())))) {
+                writer.addAttribute(classAttribute, actualType);
+            }
+            context.convertAnother(value);
+            writer.endNode();
+        }
+    }
+
+    @Override
+    public Object unmarshal(final HierarchicalStreamReader reader, final UnmarshallingContext context) {
+        var result = reflectionProvider.newInstance(type);
+        while (reader.hasMoreChildren()) {
+            reader.moveDown();
+            var field = fieldsByName.get(mapper.realMember(type, reader.getNodeName()));
+            if (field != null) { // elements of removed fields are skipped
+                var classAttribute = HierarchicalStreams.readClassAttribute(reader, mapper);
+                Class<?> valueType = classAttribute == null
+                        ? mapper.defaultImplementationOf(field.getType())
+                        : mapper.realClass(classAttribute);
+                set(field, result, context.convertAnother(result, valueType));
+            }
+            reader.moveUp();
+        }
+        return resolve(result);
+    }
+
+    private Object resolve(final Object result) {
+        if (readResolveMethod.isEmpty()) {
+            return result;
+        }
+        try {
+            return readResolveMethod.get().invoke(result);
+        }
+        catch (IllegalAccessException | InvocationTargetException exception) {
+            throw new ConversionException("Can't resolve " + type.getName(), exception);
+        }
+    }
+
+    private Object get(final Field field, final Object source) {
+        try {
+            return field.get(source);
+        }
+        catch (IllegalAccessException exception) {
+            throw new ConversionException("Can't read field " + field, exception);
+        }
+    }
+
+    private void set(final Field field, final Object target, final Object value) {
+        try {
+            field.set(target, value);
+        }
+        catch (IllegalAccessException | IllegalArgumentException exception) {
+            throw new ConversionException("Can't write field " + field, exception);
+        }
+    }
+}
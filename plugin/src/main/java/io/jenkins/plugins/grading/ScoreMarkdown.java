@@ -0,0 +1,292 @@
+package io.jenkins.plugins.grading;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import edu.hm.hafner.grading.AggregatedScore;
+import edu.hm.hafner.grading.GradingReport;
+import edu.hm.hafner.grading.Score;
+
+/**
+ * Renders the summary and the details of an {@link AggregatedScore} as Markdown with a hard limit for the number of
+ * characters. SCM providers reject or truncate larger texts, e.g., GitHub accepts at most 65535 characters for the
+ * summary and the text of a check. If an upper bound of the size of the {@link GradingReport} fits into the limit,
+ * then the texts of the {@link GradingReport} are used, so the usual format is kept for typical scores. The upper bound
+ * is estimated from the number of scores and sub-scores and the lengths of their names, so large scores are never
+ * rendered by the {@link GradingReport}. Otherwise, the details contain a compact table with the sub-scores of each
+ * score. If the tables do not fit into the limit, then the rows with the lowest absolute impact are omitted and a
+ * footer reports the number of omitted rows. The size of each row is computed before the text is written, so the text
+ * never grows beyond the limit.
+ *
+ * @author Ullrich Hafner
+ */
+final class ScoreMarkdown {
+    static final int DEFAULT_BUDGET = 65_000;
+    private static final String FOOTER = "_%d more rows are not shown due to the size limit._\n";
+    private static final int MAX_FOOTER_LENGTH = String.format(FOOTER, Integer.MAX_VALUE).length();
+    private static final Comparator<Row> BY_IMPACT = Comparator.comparingInt(Row::impact).reversed()
+            .thenComparingInt(Row::sequence);
+    // upper bounds for the sizes of the elements of the GradingReport (without names): icons, links, and cells
+    private static final int REPORT_SUMMARY_LENGTH = 1_000;
+    private static final int REPORT_SCORE_LENGTH = 1_000;
+    private static final int REPORT_ROW_LENGTH = 500;
+
+    private final int budget;
+
+    /**
+     * Creates a new instance of {@link ScoreMarkdown}.
+     *
+     * @param budget
+     *         the maximum number of characters of a rendered text
+     */
+    ScoreMarkdown(final int budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Renders the summary of the score: the total score and the score of each category.
+     *
+     * @param score
+     *         the score to render
+     * @param annotationSummary
+     *         a summary of the annotated issues that is appended to the summary, might be empty
+     *
+     * @return the summary
+     */
+    String createSummary(final AggregatedScore score, final String annotationSummary) {
+        if (REPORT_SUMMARY_LENGTH + annotationSummary.length() <= budget) {
+            var summary = new GradingReport().getTextSummary(score);
+            if (!annotationSummary.isEmpty()) {
+                summary = summary + "\n\n" + annotationSummary;
+            }
+            if (summary.length() <= budget) {
+                return summary;
+            }
+        }
+
+        var text = new BoundedText(budget, 512);
+        text.append(String.format("Total score: %d of %d\n", score.getAchievedScore(), score.getTotalScore()));
+        if (score.hasTests()) {
+            appendCategory(text, "Tests", score.getTestAchievedScore(), score.getTestMaxScore());
+        }
+        if (score.hasCodeCoverage()) {
+            appendCategory(text, "Code Coverage", score.getCodeCoverageAchievedScore(),
+                    score.getCodeCoverageMaxScore());
+        }
+        if (score.hasMutationCoverage()) {
+            appendCategory(text, "Mutation Coverage", score.getMutationCoverageAchievedScore(),
+                    score.getMutationCoverageMaxScore());
+        }
+        if (score.hasAnalysis()) {
+            appendCategory(text, "Static Analysis", score.getAnalysisAchievedScore(), score.getAnalysisMaxScore());
+        }
+        if (!annotationSummary.isEmpty()) {
+            text.append("\n" + annotationSummary + "\n");
+        }
+        return text.toString();
+    }
+
+    private void appendCategory(final BoundedText text, final String name, final int achieved, final int max) {
+        text.append(String.format("- %s: %d of %d\n", name, achieved, max));
+    }
+
+    /**
+     * Renders the details of the score. If the estimated size of the {@link GradingReport} fits into the limit, then
+     * the Markdown details of the {@link GradingReport} are returned. Otherwise, a table with the sub-scores of each
+     * score is rendered: if the tables exceed the limit, then the rows with the lowest absolute impact are omitted.
+     *
+     * @param score
+     *         the score to render
+     *
+     * @return the details
+     */
+    String createDetails(final AggregatedScore score) {
+        if (estimateReportLength(score) <= budget) {
+            var details = new GradingReport().getMarkdownDetails(score);
+            if (details.length() <= budget) { // the estimate does not cover the details of failed tests
+                return details;
+            }
+        }
+
+        List<Table> tables = new ArrayList<>();
+        addTables(tables, score.getTestScores(), "|Name|Passed|Failed|Skipped|Total|Impact|\n|:-|-:|-:|-:|-:|-:|\n",
+                test -> String.format("|%d|%d|%d|%d|", test.getPassedSize(), test.getFailedSize(),
+                        test.getSkippedSize(), test.getTotalSize()));
+        addTables(tables, score.getCodeCoverageScores(), "|Name|Covered|Impact|\n|:-|-:|-:|\n",
+                coverage -> String.format("|%d%%|", coverage.getCoveredPercentage()));
+        addTables(tables, score.getMutationCoverageScores(), "|Name|Killed|Impact|\n|:-|-:|-:|\n",
+                coverage -> String.format("|%d%%|", coverage.getCoveredPercentage()));
+        addTables(tables, score.getAnalysisScores(),
+                "|Name|Errors|High|Normal|Low|Total|Impact|\n|:-|-:|-:|-:|-:|-:|-:|\n",
+                analysis -> String.format("|%d|%d|%d|%d|%d|", analysis.getErrorSize(),
+                        analysis.getHighSeveritySize(), analysis.getNormalSeveritySize(),
+                        analysis.getLowSeveritySize(), analysis.getTotalSize()));
+
+        int omitted = selectRows(tables);
+        int length = tables.stream().mapToInt(Table::getLength).sum() + (omitted > 0 ? MAX_FOOTER_LENGTH : 0);
+        var text = new BoundedText(budget, length);
+        for (Table table : tables) {
+            table.write(text);
+        }
+        if (omitted > 0) {
+            text.append(String.format(FOOTER, omitted));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Estimates an upper bound for the length of the Markdown details of the {@link GradingReport}.
+     *
+     * @return the estimated length
+     */
+    private long estimateReportLength(final AggregatedScore score) {
+        return estimateReportLength(score.getTestScores())
+                + estimateReportLength(score.getCodeCoverageScores())
+                + estimateReportLength(score.getMutationCoverageScores())
+                + estimateReportLength(score.getAnalysisScores());
+    }
+
+    private <S extends Score<S, ?>> long estimateReportLength(final List<S> scores) {
+        long length = 0;
+        for (S score : scores) {
+            length += REPORT_SCORE_LENGTH + score.getName().length();
+            for (S subScore : score.getSubScores()) {
+                length += REPORT_ROW_LENGTH + subScore.getName().length();
+            }
+        }
+        return length;
+    }
+
+    private <S extends Score<S, ?>> void addTables(final List<Table> tables, final List<S> scores,
+            final String header, final Function<S, String> cells) {
+        for (S score : scores) {
+            var table = new Table(String.format("### %s: %d of %d\n", score.getName(), score.getValue(),
+                    score.getMaxScore()), header);
+            for (S subScore : score.getSubScores()) {
+                table.add(String.format("|%s%s%d|\n", escapeCell(subScore.getName()), cells.apply(subScore),
+                        subScore.getImpact()), Math.abs(subScore.getImpact()));
+            }
+            tables.add(table);
+        }
+    }
+
+    private static String escapeCell(final String value) {
+        return value.replace("|", "\\|");
+    }
+
+    /**
+     * Selects the rows with the highest absolute impact that fit into the budget.
+     *
+     * @return the number of omitted rows
+     */
+    private int selectRows(final List<Table> tables) {
+        List<Row> rows = new ArrayList<>();
+        int required = 0;
+        for (Table table : tables) {
+            rows.addAll(table.rows);
+            required += table.getMaximumLength();
+        }
+        if (required <= budget) {
+            tables.forEach(Table::selectAll);
+            return 0;
+        }
+
+        int available = budget - MAX_FOOTER_LENGTH - tables.stream().mapToInt(Table::getLength).sum();
+        rows.sort(BY_IMPACT);
+        for (int i = 0; i < rows.size(); i++) {
+            var row = rows.get(i);
+            var table = row.table();
+            int length = row.text().length() + (table.isEmpty() ? table.header.length() : 0);
+            if (length > available) {
+                return rows.size() - i; // all remaining rows have a lower impact
+            }
+            table.select(row);
+            available -= length;
+        }
+        return 0;
+    }
+
+    /** A table with the sub-scores of a score. */
+    private static final class Table {
+        private final String heading;
+        private final String header;
+        private final List<Row> rows = new ArrayList<>();
+        private final List<Row> selected = new ArrayList<>();
+
+        Table(final String heading, final String header) {
+            this.heading = heading;
+            this.header = header;
+        }
+
+        void add(final String text, final int impact) {
+            rows.add(new Row(this, text, impact, rows.size()));
+        }
+
+        boolean isEmpty() {
+            return selected.isEmpty();
+        }
+
+        void select(final Row row) {
+            selected.add(row);
+        }
+
+        void selectAll() {
+            selected.addAll(rows);
+        }
+
+        int getLength() {
+            return getLength(selected);
+        }
+
+        int getMaximumLength() {
+            return getLength(rows);
+        }
+
+        private int getLength(final List<Row> tableRows) {
+            return heading.length() + 1 + (tableRows.isEmpty() ? 0 : header.length()
+                    + tableRows.stream().mapToInt(row -> row.text().length()).sum());
+        }
+
+        void write(final BoundedText text) {
+            text.append(heading);
+            if (!isEmpty()) {
+                text.append(header);
+                selected.stream().sorted(Comparator.comparingInt(Row::sequence)).map(Row::text).forEach(text::append);
+            }
+            text.append("\n");
+        }
+    }
+
+    private record Row(Table table, String text, int impact, int sequence) {
+    }
+
+    /**
+     * Collects text up to a maximum number of characters, the remaining text is truncated.
+     */
+    private static final class BoundedText {
+        private final int budget;
+        private final StringBuilder text;
+
+        BoundedText(final int budget, final int expectedLength) {
+            this.budget = budget;
+            text = new StringBuilder(Math.max(0, Math.min(budget, expectedLength)));
+        }
+
+        void append(final String value) {
+            int remaining = budget - text.length();
+            if (value.length() <= remaining) {
+                text.append(value);
+            }
+            else if (remaining > 0) {
+                text.append(value, 0, remaining);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package io.jenkins.plugins.grading;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Objects;
+
+import edu.hm.hafner.grading.AggregatedScore;
+
+import org.kohsuke.stapler.export.Exported;
+import org.kohsuke.stapler.export.ExportedBean;
+
+/**
+ * A small summary of an {@link AggregatedScore}: the achieved and total score, and the achieved and maximum score of
+ * each category. The summary is stored directly in the build action, so views that show only these values do not need
+ * to load the full score from the result file of the build.
+ *
+ * @author Ullrich Hafner
+ */
+@ExportedBean
+public final class ScoreSummary implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 6011329047233853734L;
+
+    private final int achieved;
+    private final int total;
+    private final CategorySummary tests;
+    private final CategorySummary codeCoverage;
+    private final CategorySummary mutationCoverage;
+    private final CategorySummary analysis;
+
+    /**
+     * Creates the summary of the specified score.
+     *
+     * @param score
+     *         the score to summarize
+     *
+     * @return the summary
+     */
+    static ScoreSummary from(final AggregatedScore score) {
+        return new ScoreSummary(score.getAchievedScore(), score.getTotalScore(),
+                new CategorySummary(score.hasTests(), score.getTestAchievedScore(), score.getTestMaxScore()),
+                new CategorySummary(score.hasCodeCoverage(), score.getCodeCoverageAchievedScore(),
+                        score.getCodeCoverageMaxScore()),
+                new CategorySummary(score.hasMutationCoverage(), score.getMutationCoverageAchievedScore(),
+                        score.getMutationCoverageMaxScore()),
+                new CategorySummary(score.hasAnalysis(), score.getAnalysisAchievedScore(),
+                        score.getAnalysisMaxScore()));
+    }
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    ScoreSummary(final int achieved, final int total, final CategorySummary tests,
+            final CategorySummary codeCoverage, final CategorySummary mutationCoverage,
+            final CategorySummary analysis) {
+        this.achieved = achieved;
+        this.total = total;
+        this.tests = tests;
+        this.codeCoverage = codeCoverage;
+        this.mutationCoverage = mutationCoverage;
+        this.analysis = analysis;
+    }
+
+    @Exported
+    public int getAchieved() {
+        return achieved;
+    }
+
+    @Exported
+    public int getTotal() {
+        return total;
+    }
+
+    @Exported(inline = true)
+    public CategorySummary getTests() {
+        return tests;
+    }
+
+    @Exported(inline = true)
+    public CategorySummary getCodeCoverage() {
+        return codeCoverage;
+    }
+
+    @Exported(inline = true)
+    public CategorySummary getMutationCoverage() {
+        return mutationCoverage;
+    }
+
+    @Exported(inline = true)
+    public CategorySummary getAnalysis() {
+        return analysis;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        var that = (ScoreSummary) o;
+        return achieved == that.achieved && total == that.total
+                && tests.equals(that.tests) && codeCoverage.equals(that.codeCoverage)
+                && mutationCoverage.equals(that.mutationCoverage) && analysis.equals(that.analysis);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(achieved, total, tests, codeCoverage, mutationCoverage, analysis);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d of %d (tests: %s, code coverage: %s, mutation coverage: %s, analysis: %s)",
+                achieved, total, tests, codeCoverage, mutationCoverage, analysis);
+    }
+
+    /**
+     * The achieved and maximum score of a single category.
+     */
+    @ExportedBean(defaultVisibility = 2)
+    public static final class CategorySummary implements Serializable {
+        @Serial
+        private static final long serialVersionUID = -1380298451468137567L;
+
+        private final boolean available;
+        private final int achieved;
+        private final int max;
+
+        CategorySummary(final boolean available, final int achieved, final int max) {
+            this.available = available;
+            this.achieved = achieved;
+            this.max = max;
+        }
+
+        /**
+         * Returns whether this category has been graded.
+         *
+         * @return {@code true} if this category has been graded, {@code false} otherwise
+         */
+        @Exported
+        public boolean isAvailable() {
+            return available;
+        }
+
+        @Exported
+        public int getAchieved() {
+            return achieved;
+        }
+
+        @Exported
+        public int getMax() {
+            return max;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            var that = (CategorySummary) o;
+            return available == that.available && achieved == that.achieved && max == that.max;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(available, achieved, max);
+        }
+
+        @Override
+        public String toString() {
+            return available ? achieved + "/" + max : "n/a";
+        }
+    }
+}
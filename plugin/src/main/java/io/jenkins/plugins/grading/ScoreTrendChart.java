@@ -0,0 +1,100 @@
+package io.jenkins.plugins.grading;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import edu.hm.hafner.echarts.LineSeries;
+import edu.hm.hafner.echarts.LineSeries.FilledMode;
+import edu.hm.hafner.echarts.LineSeries.StackedMode;
+import edu.hm.hafner.echarts.LinesChartModel;
+import edu.hm.hafner.echarts.LinesDataSet;
+
+import io.jenkins.plugins.echarts.JenkinsPalette;
+import io.jenkins.plugins.grading.ScoreColumnStore.ScoreRow;
+import io.jenkins.plugins.grading.ScoreSummary.CategorySummary;
+
+/**
+ * Creates the model of a trend chart that shows the percentage of the total score and the percentages of the graded
+ * categories of the latest builds. The chart is created from the {@link ScoreColumnStore} of the job, so no results
+ * of the individual builds need to be loaded.
+ *
+ * @author Ullrich Hafner
+ */
+class ScoreTrendChart {
+    static final int DEFAULT_BUILD_COUNT = 50;
+
+    private static final String TOTAL = "total";
+    private static final String TESTS = "tests";
+    private static final String CODE_COVERAGE = "codeCoverage";
+    private static final String MUTATION_COVERAGE = "mutationCoverage";
+    private static final String ANALYSIS = "analysis";
+    private static final int PERCENTAGE = 100;
+
+    /**
+     * Creates the chart model for the specified builds.
+     *
+     * @param builds
+     *         the scores of the builds to show, sorted by the build number
+     *
+     * @return the chart model
+     */
+    LinesChartModel create(final List<ScoreRow> builds) {
+        var dataSet = new LinesDataSet();
+        for (ScoreRow build : builds) {
+            var summary = build.summary();
+            Map<String, Integer> values = new HashMap<>();
+            values.put(TOTAL, toPercentage(summary.getAchieved(), summary.getTotal()));
+            values.put(TESTS, toPercentage(summary.getTests()));
+            values.put(CODE_COVERAGE, toPercentage(summary.getCodeCoverage()));
+            values.put(MUTATION_COVERAGE, toPercentage(summary.getMutationCoverage()));
+            values.put(ANALYSIS, toPercentage(summary.getAnalysis()));
+            dataSet.add("#" + build.build(), values, build.build());
+        }
+
+        var model = new LinesChartModel(dataSet);
+        model.addSeries(createSeries(dataSet, TOTAL, Messages.Trend_Total(), JenkinsPalette.BLUE));
+        addCategory(model, dataSet, builds, ScoreSummary::getTests,
+                TESTS, Messages.Trend_Tests(), JenkinsPalette.GREEN);
+        addCategory(model, dataSet, builds, ScoreSummary::getCodeCoverage,
+                CODE_COVERAGE, Messages.Trend_CodeCoverage(), JenkinsPalette.YELLOW);
+        addCategory(model, dataSet, builds, ScoreSummary::getMutationCoverage,
+                MUTATION_COVERAGE, Messages.Trend_MutationCoverage(), JenkinsPalette.ORANGE);
+        addCategory(model, dataSet, builds, ScoreSummary::getAnalysis,
+                ANALYSIS, Messages.Trend_Analysis(), JenkinsPalette.RED);
+        model.setRangeMin(0);
+        model.setRangeMax(PERCENTAGE);
+        return model;
+    }
+
+    private void addCategory(final LinesChartModel model, final LinesDataSet dataSet,
+            final List<ScoreRow> builds,
+            final Function<ScoreSummary, CategorySummary> category,
+            final String id, final String name, final JenkinsPalette color) {
+        for (ScoreRow build : builds) {
+            if (category.apply(build.summary()).isAvailable()) {
+                model.addSeries(createSeries(dataSet, id, name, color));
+                return;
+            }
+        }
+    }
+
+    private LineSeries createSeries(final LinesDataSet dataSet, final String id, final String name,
+            final JenkinsPalette color) {
+        var series = new LineSeries(name, color.normal(), StackedMode.SEPARATE_LINES, FilledMode.LINES);
+        series.addAll(dataSet.getSeries(id));
+        return series;
+    }
+
+    private int toPercentage(final CategorySummary category) {
+        return toPercentage(category.getAchieved(), category.getMax());
+    }
+
+    private int toPercentage(final int achieved, final int max) {
+        if (max == 0) {
+            return 0;
+        }
+        return achieved * PERCENTAGE / max;
+    }
+}
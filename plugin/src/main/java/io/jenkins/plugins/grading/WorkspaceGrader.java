@@ -0,0 +1,81 @@
+package io.jenkins.plugins.grading;
+
+import java.io.File;
+import java.io.Serial;
+import java.io.Serializable;
+
+import edu.hm.hafner.grading.AggregatedScore;
+import edu.hm.hafner.util.FilteredLog;
+
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+
+/**
+ * Grades the raw report files in a workspace. This callable runs on the agent that owns the workspace, so parsing
+ * and grading of the report files does not consume any resources on the controller. Only the compact
+ * {@link AggregatedScore} (and the grading log) are sent back to the controller.
+ *
+ * @author Ullrich Hafner
+ */
+class WorkspaceGrader extends MasterToSlaveFileCallable<WorkspaceGrader.GradingResult> {
+    @Serial
+    private static final long serialVersionUID = -2816396093411322464L;
+
+    private final String configuration;
+
+    /**
+     * Creates a new instance of {@link WorkspaceGrader}.
+     *
+     * @param configuration
+     *         the grading configuration in JSON format
+     */
+    WorkspaceGrader(final String configuration) {
+        super();
+
+        this.configuration = configuration;
+    }
+
+    @Override
+    public GradingResult invoke(final File workspace, final VirtualChannel channel) {
+        var log = new FilteredLog(AutoGrader.LOG_TITLE);
+        var score = new AggregatedScore(configuration, log);
+
+        log.logInfo("Reading configuration: %s", configuration);
+        log.logInfo("Grading report files in workspace %s", workspace);
+
+        var factory = new WorkspaceReportFactory(workspace);
+        var timings = new GradingTimings();
+
+        log.logInfo("Grading static analysis results");
+        timings.measureScoring(GradingTimings.ANALYSIS,
+                timings.measureLoading(GradingTimings.ANALYSIS, factory::createAnalysisReport),
+                loader -> score.gradeAnalysis(loader::apply));
+
+        log.logInfo("Grading coverage results");
+        timings.measureScoring(GradingTimings.COVERAGE,
+                timings.measureLoading(GradingTimings.COVERAGE, factory::createCoverageReport),
+                loader -> score.gradeCoverage(loader::apply));
+
+        log.logInfo("Grading test results");
+        timings.measureScoring(GradingTimings.TESTS,
+                timings.measureLoading(GradingTimings.TESTS, factory::createTestReport),
+                loader -> score.gradeTests(loader::apply));
+
+        return new GradingResult(score, log, timings);
+    }
+
+    /**
+     * The result of the grading on the agent.
+     *
+     * @param score
+     *         the graded score
+     * @param log
+     *         the grading log
+     * @param timings
+     *         the timings of the grading phases on the agent
+     */
+    record GradingResult(AggregatedScore score, FilteredLog log, GradingTimings timings) implements Serializable {
+        @Serial
+        private static final long serialVersionUID = 4215789512351672231L;
+    }
+}
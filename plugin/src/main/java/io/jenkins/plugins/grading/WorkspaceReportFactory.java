@@ -0,0 +1,123 @@
+package io.jenkins.plugins.grading;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import org.apache.commons.lang3.StringUtils;
+
+import edu.hm.hafner.analysis.FileReaderFactory;
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.analysis.registry.ParserRegistry;
+import edu.hm.hafner.coverage.CoverageParser;
+import edu.hm.hafner.coverage.CoverageParser.ProcessingMode;
+import edu.hm.hafner.coverage.ModuleNode;
+import edu.hm.hafner.coverage.Node;
+import edu.hm.hafner.grading.ToolConfiguration;
+import edu.hm.hafner.util.FilteredLog;
+
+import hudson.Util;
+
+/**
+ * Supplies the reports of the tools by parsing the raw report files in a workspace. The files of a tool are selected
+ * by the (Ant) pattern of the tool, the parser is selected by the ID of the tool: static analysis tools use the parser
+ * IDs of the analysis model (e.g., {@code checkstyle}, {@code pmd}, or {@code spotbugs}), coverage tools use the parser
+ * names of the coverage model (e.g., {@code jacoco}, {@code cobertura}, or {@code pit}), tests are always parsed with
+ * the JUnit parser. This factory does not require any Jenkins model classes, so it can be used on an agent. The
+ * parser registries are created only once, so a single factory should be used for all tools of a grading.
+ *
+ * @author Ullrich Hafner
+ */
+class WorkspaceReportFactory {
+    private static final String JUNIT = "JUNIT";
+
+    private final File workspace;
+    private final ParserRegistry analysisParsers;
+    private final edu.hm.hafner.coverage.registry.ParserRegistry coverageParsers;
+
+    /**
+     * Creates a new instance of {@link WorkspaceReportFactory}.
+     *
+     * @param workspace
+     *         the workspace that contains the report files
+     */
+    WorkspaceReportFactory(final File workspace) {
+        this.workspace = workspace;
+
+        analysisParsers = new ParserRegistry();
+        coverageParsers = new edu.hm.hafner.coverage.registry.ParserRegistry();
+    }
+
+    Report createAnalysisReport(final ToolConfiguration tool, final FilteredLog log) {
+        var aggregated = new Report();
+        if (!analysisParsers.contains(tool.getId())) {
+            log.logError("No static analysis parser found for ID '%s'", tool.getId());
+            return aggregated;
+        }
+        var parser = analysisParsers.get(tool.getId()).createParser();
+        for (Path file : findFiles(tool, log)) {
+            for (Issue issue : parser.parse(new FileReaderFactory(file))) {
+                aggregated.add(issue);
+            }
+        }
+        log.logInfo("-> Parsed %d issues for %s", aggregated.size(), tool.getId());
+        return aggregated;
+    }
+
+    Node createCoverageReport(final ToolConfiguration tool, final FilteredLog log) {
+        return parseCoverage(tool, tool.getId().toUpperCase(Locale.ENGLISH), log);
+    }
+
+    Node createTestReport(final ToolConfiguration tool, final FilteredLog log) {
+        return parseCoverage(tool, JUNIT, log);
+    }
+
+    private Node parseCoverage(final ToolConfiguration tool, final String parserName, final FilteredLog log) {
+        CoverageParser parser;
+        try {
+            parser = coverageParsers.get(parserName, ProcessingMode.IGNORE_ERRORS);
+        }
+        catch (IllegalArgumentException exception) {
+            log.logError("No coverage parser found for ID '%s'", tool.getId());
+            return new ModuleNode("empty");
+        }
+
+        List<Node> nodes = new ArrayList<>();
+        for (Path file : findFiles(tool, log)) {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                nodes.add(parser.parse(reader, file.toString(), log));
+            }
+            catch (IOException exception) {
+                log.logException(exception, "Can't read report file '%s'", file);
+            }
+        }
+        if (nodes.isEmpty()) {
+            return new ModuleNode("empty");
+        }
+        return Node.merge(nodes);
+    }
+
+    private List<Path> findFiles(final ToolConfiguration tool, final FilteredLog log) {
+        if (StringUtils.isBlank(tool.getPattern())) {
+            log.logError("No pattern defined for ID '%s'", tool.getId());
+            return List.of();
+        }
+        var fileNames = Util.createFileSet(workspace, tool.getPattern()).getDirectoryScanner().getIncludedFiles();
+        Arrays.sort(fileNames);
+        if (fileNames.length == 0) {
+            log.logError("No files found for pattern '%s'", tool.getPattern());
+        }
+        else {
+            log.logInfo("-> Found %d files for pattern '%s'", fileNames.length, tool.getPattern());
+        }
+        return Arrays.stream(fileNames).map(fileName -> workspace.toPath().resolve(fileName)).toList();
+    }
+}
@@ -0,0 +1,55 @@
+package io.jenkins.plugins.grading;
+
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+/**
+ * Base class for benchmarks that compare the run time of alternative implementations. Benchmarks do not assert on
+ * wall-clock time, they only report the measured numbers on the console. Benchmarks are not part of the default test
+ * run, use the Maven profile {@code benchmark} to run them.
+ *
+ * @author Ullrich Hafner
+ */
+abstract class AbstractBenchmark {
+    private static final int WARM_UP = 3;
+    private static final int MEASUREMENTS = 5;
+
+    @SuppressWarnings("PMD.UnusedPrivateField")
+    private long blackHole;
+
+    /**
+     * Runs the specified task several times and returns the minimum duration of a run. The task returns a value that
+     * depends on its work, so that the JIT compiler can't remove the work.
+     *
+     * @param task
+     *         the task to measure
+     *
+     * @return the minimum duration of a run in nanoseconds
+     */
+    protected long measure(final LongSupplier task) {
+        for (int i = 0; i < WARM_UP; i++) {
+            blackHole += task.getAsLong();
+        }
+        long minimum = Long.MAX_VALUE;
+        for (int i = 0; i < MEASUREMENTS; i++) {
+            long start = System.nanoTime();
+            blackHole += task.getAsLong();
+            minimum = Math.min(minimum, System.nanoTime() - start);
+        }
+        return minimum;
+    }
+
+    /**
+     * Reports a result of the benchmark on the console.
+     *
+     * @param format
+     *         the format of the message
+     * @param arguments
+     *         the arguments of the message
+     */
+    @SuppressWarnings("PMD.SystemPrintln")
+    protected void report(final String format, final Object... arguments) {
+        System.out.printf(Locale.ENGLISH, "[%s] %s%n", getClass().getSimpleName(),
+                String.format(Locale.ENGLISH, format, arguments));
+    }
+}
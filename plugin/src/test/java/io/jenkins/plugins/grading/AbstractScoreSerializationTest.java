@@ -0,0 +1,54 @@
+package io.jenkins.plugins.grading;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+
+import edu.hm.hafner.grading.AggregatedScore;
+import edu.hm.hafner.util.ResourceTest;
+
+import static edu.hm.hafner.grading.assertions.Assertions.*;
+
+/**
+ * Base class for tests that store and restore an {@link AggregatedScore}. Provides a score with results of all
+ * categories and verifies that a restored score still contains these results.
+ *
+ * @author Ullrich Hafner
+ */
+abstract class AbstractScoreSerializationTest extends ResourceTest {
+    /**
+     * Creates a score with the results of all categories.
+     *
+     * @return the score
+     */
+    protected AggregatedScore createScore() {
+        var serialization = readAllBytes("aggregated-score.ser");
+
+        try (ObjectInputStream inputStream = new ObjectInputStream(new ByteArrayInputStream(serialization))) {
+            return (AggregatedScore) inputStream.readObject();
+        }
+        catch (IOException | ClassNotFoundException e) {
+            throw new AssertionError("Can't resolve instance from byte array", e);
+        }
+    }
+
+    /**
+     * Verifies that the specified score contains the results of the score created by {@link #createScore()}.
+     *
+     * @param score
+     *         the score to verify
+     */
+    protected void verifyScore(final AggregatedScore score) {
+        assertThat(score).hasAnalysisAchievedScore(30);
+        assertThat(score.getAnalysisScores()).hasSize(2);
+
+        assertThat(score).hasTestAchievedScore(77);
+        assertThat(score.getTestScores()).hasSize(1);
+
+        assertThat(score).hasCodeCoverageAchievedScore(40);
+        assertThat(score.getCodeCoverageScores()).hasSize(1);
+
+        assertThat(score).hasMutationCoverageAchievedScore(20);
+        assertThat(score.getMutationCoverageScores()).hasSize(1);
+    }
+}
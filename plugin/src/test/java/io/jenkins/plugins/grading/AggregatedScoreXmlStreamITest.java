@@ -1,8 +1,6 @@
 package io.jenkins.plugins.grading;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
@@ -11,7 +9,6 @@ import org.junit.jupiter.api.Test;
 
 import edu.hm.hafner.grading.AggregatedScore;
 import edu.hm.hafner.grading.AnalysisScore;
-import edu.hm.hafner.util.ResourceTest;
 
 import static edu.hm.hafner.grading.assertions.Assertions.*;
 
@@ -20,18 +17,7 @@ import static edu.hm.hafner.grading.assertions.Assertions.*;
  *
  * @author Ullrich Hafner
  */
-class AggregatedScoreXmlStreamITest extends ResourceTest {
-    private AggregatedScore createScore() {
-        var serialization = readAllBytes("aggregated-score.ser");
-
-        try (ObjectInputStream inputStream = new ObjectInputStream(new ByteArrayInputStream(serialization))) {
-            return (AggregatedScore)inputStream.readObject();
-        }
-        catch (IOException | ClassNotFoundException e) {
-            throw new AssertionError("Can't resolve instance from byte array", e);
-        }
-    }
-
+class AggregatedScoreXmlStreamITest extends AbstractScoreSerializationTest {
     @Test
     void shouldReturnDefaultForBrokenFile() {
         AggregatedScore score = read("checkstyle.xml");
@@ -54,24 +40,10 @@ class AggregatedScoreXmlStreamITest extends ResourceTest {
         assertThat(content).doesNotContain(AnalysisScore.class.getName());
 
         AggregatedScore written = reader.read(saved);
-        verifyStream(written);
+        verifyScore(written);
     }
 
     private AggregatedScore read(final String fileName) {
         return new AggregatedScoreXmlStream().read(getResourceAsFile(fileName));
     }
-
-    private void verifyStream(final AggregatedScore score) {
-        assertThat(score).hasAnalysisAchievedScore(30);
-        assertThat(score.getAnalysisScores()).hasSize(2);
-
-        assertThat(score).hasTestAchievedScore(77);
-        assertThat(score.getTestScores()).hasSize(1);
-
-        assertThat(score).hasCodeCoverageAchievedScore(40);
-        assertThat(score.getCodeCoverageScores()).hasSize(1);
-
-        assertThat(score).hasMutationCoverageAchievedScore(20);
-        assertThat(score.getMutationCoverageScores()).hasSize(1);
-    }
 }
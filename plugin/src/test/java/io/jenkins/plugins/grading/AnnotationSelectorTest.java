@@ -0,0 +1,141 @@
+package io.jenkins.plugins.grading;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.IssueBuilder;
+import edu.hm.hafner.analysis.Severity;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link AnnotationSelector}.
+ *
+ * @author Ullrich Hafner
+ */
+class AnnotationSelectorTest {
+    private static final ToIntFunction<Severity> NO_IMPACT = severity -> 0;
+
+    @Test
+    void shouldRankBySeverityAndImpact() {
+        var selector = new AnnotationSelector(10);
+
+        selector.add(List.of(createIssue("low", Severity.WARNING_LOW), createIssue("error", Severity.ERROR),
+                createIssue("normal", Severity.WARNING_NORMAL)), NO_IMPACT);
+        selector.add(List.of(createIssue("normal with impact", Severity.WARNING_NORMAL)), severity -> -5);
+
+        assertThat(selector.getSelectedIssues()).extracting(Issue::getMessage)
+                .containsExactly("error", "normal with impact", "normal", "low");
+        assertThat(selector.getTotal()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldSkipDuplicates() {
+        var selector = new AnnotationSelector(10);
+
+        selector.add(List.of(createIssue("same", Severity.ERROR), createIssue("same", Severity.ERROR),
+                createIssue("other", Severity.ERROR)), NO_IMPACT);
+
+        assertThat(selector.getSelectedIssues()).extracting(Issue::getMessage).containsExactly("same", "other");
+        assertThat(selector.getTotal()).isEqualTo(3);
+        assertThat(selector.getDuplicates()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRetainTopRankedIssuesOnly() {
+        var selector = new AnnotationSelector(2);
+
+        selector.add(List.of(createIssue("first low", Severity.WARNING_LOW),
+                createIssue("error", Severity.ERROR),
+                createIssue("second low", Severity.WARNING_LOW),
+                createIssue("high", Severity.WARNING_HIGH)), NO_IMPACT);
+
+        assertThat(selector.getSelectedIssues()).extracting(Issue::getMessage).containsExactly("error", "high");
+    }
+
+    @Test
+    void shouldPreferEarlierIssuesOfSameRank() {
+        var selector = new AnnotationSelector(2);
+
+        selector.add(List.of(createIssue("1", Severity.WARNING_NORMAL), createIssue("2", Severity.WARNING_NORMAL),
+                createIssue("3", Severity.WARNING_NORMAL)), NO_IMPACT);
+
+        assertThat(selector.getSelectedIssues()).extracting(Issue::getMessage).containsExactly("1", "2");
+    }
+
+    @Test
+    void shouldCreateBatches() {
+        var selector = new AnnotationSelector(120);
+        List<Issue> issues = new ArrayList<>();
+        for (int i = 0; i < 110; i++) {
+            issues.add(createIssue("Issue " + i, Severity.WARNING_NORMAL));
+        }
+
+        selector.add(issues, NO_IMPACT);
+
+        assertThat(selector.getBatches(AutoGradingChecksPublisher.BATCH_SIZE))
+                .extracting(List::size).containsExactly(50, 50, 10);
+    }
+
+    @Test
+    void shouldProcessLargeReportsWithBoundedMemory() {
+        var selector = new AnnotationSelector(100);
+
+        selector.add(() -> new GeneratedIssues(100_000), NO_IMPACT);
+
+        assertThat(selector.getTotal()).isEqualTo(100_000);
+        assertThat(selector.getSelectedIssues()).hasSize(100)
+                .allSatisfy(issue -> assertThat(issue.getSeverity()).isEqualTo(Severity.ERROR));
+    }
+
+    @Test
+    void shouldSelectNothingIfDisabled() {
+        var selector = new AnnotationSelector(0);
+
+        selector.add(List.of(createIssue("error", Severity.ERROR)), NO_IMPACT);
+
+        assertThat(selector.getSelectedIssues()).isEmpty();
+        assertThat(selector.getBatches(AutoGradingChecksPublisher.BATCH_SIZE)).isEmpty();
+        assertThat(selector.getTotal()).isEqualTo(1);
+    }
+
+    private static Issue createIssue(final String message, final Severity severity) {
+        return createIssue(message, severity, 1);
+    }
+
+    private static Issue createIssue(final String message, final Severity severity, final int line) {
+        var builder = new IssueBuilder();
+        return builder.setFileName("File.java")
+                .setLineStart(line)
+                .setMessage(message)
+                .setSeverity(severity)
+                .build();
+    }
+
+    /** Creates the issues on demand, so the test does not need to hold all issues in memory. */
+    private static class GeneratedIssues implements Iterator<Issue> {
+        private final int count;
+        private int created;
+
+        GeneratedIssues(final int count) {
+            this.count = count;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return created < count;
+        }
+
+        @Override
+        public Issue next() {
+            created++;
+            var severity = created % 1000 == 0 ? Severity.ERROR : Severity.WARNING_LOW;
+            return createIssue("Issue " + created, severity, created);
+        }
+    }
+}
@@ -1,22 +1,33 @@
 package io.jenkins.plugins.grading;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.Test;
 import org.jvnet.hudson.test.JenkinsRule;
 
 import edu.hm.hafner.grading.AggregatedScore;
+import edu.hm.hafner.grading.AnalysisScore;
+import edu.hm.hafner.grading.CoverageScore;
 import edu.hm.hafner.grading.TestScore;
+import edu.hm.hafner.util.FilteredLog;
 
 import org.jenkinsci.plugins.workflow.cps.CpsFlowDefinition;
 import org.jenkinsci.plugins.workflow.job.WorkflowJob;
+import hudson.FilePath;
+import hudson.cli.CLICommandInvoker;
 import hudson.model.FreeStyleProject;
 import hudson.model.Run;
+import hudson.model.Slave;
 import hudson.tasks.Recorder;
 import hudson.tasks.junit.JUnitResultArchiver;
+import hudson.util.XStream2;
 
+import io.jenkins.plugins.analysis.core.model.ResultAction;
 import io.jenkins.plugins.analysis.core.steps.IssuesRecorder;
 import io.jenkins.plugins.analysis.warnings.CheckStyle;
 import io.jenkins.plugins.analysis.warnings.Cpd;
@@ -190,6 +201,62 @@ class AutoGraderITest extends IntegrationTestWithJenkinsPerSuite {
         assertCheckStyleScore(freestyle);
     }
 
+    @Test
+    void shouldMigrateResultsOfOlderReleases() throws IOException {
+        FreeStyleProject project = createFreeStyleProjectWithWorkspaceFiles("checkstyle.xml");
+
+        IssuesRecorder recorder = new IssuesRecorder();
+        CheckStyle checkStyle = new CheckStyle();
+        checkStyle.setPattern("**/*checkstyle.xml");
+        recorder.setTools(checkStyle);
+
+        addAutoGrader(project, recorder, ANALYSIS_CONFIGURATION);
+
+        Run<?, ?> freestyle = buildSuccessfully(project);
+        var action = freestyle.getAction(AutoGradingBuildAction.class);
+        assertThat(action.migrate()).isFalse();
+
+        var buildDirectory = freestyle.getRootDir().toPath();
+        var legacyFile = buildDirectory.resolve(CompressedScoreStream.LEGACY_FILE_NAME);
+        Files.writeString(legacyFile, createLegacyXml(freestyle));
+        Files.delete(action.getResultPath());
+        Files.delete(buildDirectory.resolve(GradingLogStore.FILE_NAME));
+
+        var result = new CLICommandInvoker(getJenkins(), new MigrateAutoGradingResultsCommand())
+                .invokeWithArgs("--job", project.getFullName());
+
+        assertThat(result.returnCode()).isZero();
+        assertThat(result.stdout()).contains("Finished 1 of 1 builds: 1 migrated, 0 already up to date, 0 failed");
+        assertThat(legacyFile).doesNotExist();
+        assertThat(action.getResultPath()).exists();
+        assertThat(new CompressedScoreStream().read(action.getResultPath())).hasAchievedScore(40);
+        assertThat(GradingLogStore.read(buildDirectory)).hasValueSatisfying(messages -> {
+            assertThat(messages.infoMessages()).contains("Legacy info message",
+                    "=> Static Analysis Warnings Score: 40 of 100");
+            assertThat(messages.errorMessages()).contains("Legacy error message");
+        });
+        assertThat(action.migrate()).isFalse();
+    }
+
+    /**
+     * Creates the result file of an older release: the score is written with the reflection based converters of
+     * XStream, so the file contains the log messages as well.
+     */
+    private String createLegacyXml(final Run<?, ?> build) {
+        var log = new FilteredLog(AutoGrader.LOG_TITLE);
+        log.logInfo("Legacy info message");
+        log.logError("Legacy error message");
+        var score = new AggregatedScore(json(ANALYSIS_CONFIGURATION), log);
+        score.gradeAnalysis((tool, toolLog) -> build.getAction(ResultAction.class).getResult().getIssues());
+
+        var xStream = new XStream2();
+        xStream.alias("scores", AggregatedScore.class);
+        xStream.alias("analysisScore", AnalysisScore.class);
+        xStream.alias("testScore", TestScore.class);
+        xStream.alias("coverageScore", CoverageScore.class);
+        return xStream.toXML(score);
+    }
+
     @Test
     void shouldCountCheckStyleWarningsInPipeline() {
         WorkflowJob job = createPipelineWithWorkspaceFiles("checkstyle.xml");
@@ -252,6 +319,187 @@ class AutoGraderITest extends IntegrationTestWithJenkinsPerSuite {
         assertMultipleAnalysisScores(pipeline);
     }
 
+    @Test
+    void shouldGradeMultipleAnalysisResultsConcurrently() {
+        FreeStyleProject project = createFreeStyleProjectWithWorkspaceFiles(ANALYSIS_REPORTS);
+        IssuesRecorder recorder = new IssuesRecorder();
+        recorder.setTools(new Pmd(), new Cpd(), new SpotBugs());
+        project.getPublishersList().add(recorder);
+
+        var autoGrader = new AutoGrader(json(ANALYSIS_MULTI_CONFIGURATION));
+        autoGrader.setConcurrent(true);
+        project.getPublishersList().add(autoGrader);
+
+        Run<?, ?> freestyle = buildSuccessfully(project);
+
+        assertAchievedScore(freestyle, 185);
+        assertMultipleAnalysisScores(freestyle);
+
+        FreeStyleProject serialProject = createFreeStyleProjectWithWorkspaceFiles(ANALYSIS_REPORTS);
+        IssuesRecorder serialRecorder = new IssuesRecorder();
+        serialRecorder.setTools(new Pmd(), new Cpd(), new SpotBugs());
+        addAutoGrader(serialProject, serialRecorder, ANALYSIS_MULTI_CONFIGURATION);
+
+        Run<?, ?> serial = buildSuccessfully(serialProject);
+
+        assertThat(freestyle.getAction(AutoGradingBuildAction.class).getSummary())
+                .isEqualTo(serial.getAction(AutoGradingBuildAction.class).getSummary());
+        assertThat(GradingLogStore.read(freestyle.getRootDir().toPath()))
+                .isEqualTo(GradingLogStore.read(serial.getRootDir().toPath()));
+
+        var timings = freestyle.getAction(AutoGradingBuildAction.class).getTimings().getTimings();
+        assertThat(timings).extracting(GradingTimings.Timing::getPhase).contains(
+                GradingTimings.Phase.LOOKUP, GradingTimings.Phase.LOADING, GradingTimings.Phase.SCORING,
+                GradingTimings.Phase.PERSISTENCE, GradingTimings.Phase.CHECKS);
+        assertThat(timings).filteredOn(timing -> timing.getPhase() == GradingTimings.Phase.LOADING)
+                .extracting(GradingTimings.Timing::getTool)
+                .containsExactlyInAnyOrder("pmd", "cpd", "spotbugs");
+    }
+
+    @Test
+    void shouldReuseUnchangedScoresOfPreviousBuild() {
+        FreeStyleProject project = createFreeStyleProjectWithWorkspaceFiles(ANALYSIS_REPORTS);
+        IssuesRecorder recorder = new IssuesRecorder();
+        recorder.setTools(new Pmd(), new Cpd(), new SpotBugs());
+        project.getPublishersList().add(recorder);
+
+        var autoGrader = new AutoGrader(json(ANALYSIS_MULTI_CONFIGURATION));
+        autoGrader.setIncremental(true);
+        project.getPublishersList().add(autoGrader);
+
+        Run<?, ?> first = buildSuccessfully(project);
+        assertAchievedScore(first, 185);
+        assertThat(getConsoleLog(first)).doesNotContain("Reusing static analysis scores");
+
+        Run<?, ?> second = buildSuccessfully(project);
+        assertAchievedScore(second, 185);
+        assertThat(getAggregatedScore(second).getAnalysisScores().get(0).getSubScores())
+                .extracting("id", "normalSeveritySize", "lowSeveritySize", "impact")
+                .containsExactly(tuple("pmd", 4, 0, -8), tuple("cpd", 0, 7, -7));
+        assertThat(getConsoleLog(second)).contains(
+                "[Autograding] Reusing static analysis scores of #1 (results are unchanged)");
+    }
+
+    @Test
+    void shouldPublishChecksAsynchronously() {
+        FreeStyleProject project = createFreeStyleProjectWithWorkspaceFiles(ANALYSIS_REPORTS);
+        IssuesRecorder recorder = new IssuesRecorder();
+        recorder.setTools(new Pmd(), new Cpd(), new SpotBugs());
+        project.getPublishersList().add(recorder);
+
+        var autoGrader = new AutoGrader(json(ANALYSIS_MULTI_CONFIGURATION));
+        autoGrader.setAsynchronousChecks(true);
+        autoGrader.setMaxAnnotations(100);
+        project.getPublishersList().add(autoGrader);
+
+        long published = ChecksQueue.get().getPublishedCount();
+        Run<?, ?> freestyle = buildSuccessfully(project);
+
+        assertAchievedScore(freestyle, 185);
+        assertThat(getConsoleLog(freestyle)).contains("[Autograding] Queued the checks for publishing");
+        assertThat(ChecksQueue.get().drain(Duration.ofSeconds(30))).isTrue();
+        assertThat(ChecksQueue.get().getPublishedCount()).isGreaterThan(published);
+        assertThat(ChecksQueue.get().getFailedCount()).isZero();
+    }
+
+    @Test
+    void shouldAnnotateOnlyNewIssuesComparedWithPreviousBuild() throws Exception {
+        FreeStyleProject project = createFreeStyleProject();
+        FilePath workspace = getJenkins().jenkins.getWorkspaceFor(project);
+        assertThat(workspace).isNotNull();
+        copyToWorkspace(workspace, "checkstyle.xml", "checkstyle.xml");
+        FilePath report = workspace.child("checkstyle.xml");
+        report.write(report.readToString().lines() // the first build reports a subset of the issues
+                .filter(line -> !line.contains("RightCurlyCheck") && !line.contains("PackageHtmlCheck"))
+                .collect(Collectors.joining("\n")), "UTF-8");
+
+        IssuesRecorder recorder = new IssuesRecorder();
+        CheckStyle checkStyle = new CheckStyle();
+        checkStyle.setPattern("**/checkstyle.xml");
+        recorder.setTools(checkStyle);
+        project.getPublishersList().add(recorder);
+
+        var autoGrader = new AutoGrader(json(ANALYSIS_CONFIGURATION));
+        autoGrader.setMaxAnnotations(100);
+        autoGrader.setNewIssuesOnly(true);
+        project.getPublishersList().add(autoGrader);
+
+        Run<?, ?> first = buildSuccessfully(project);
+        assertThat(getConsoleLog(first)).doesNotContain("compared with");
+
+        copyToWorkspace(workspace, "checkstyle.xml", "checkstyle.xml");
+        Run<?, ?> second = buildSuccessfully(project);
+
+        int previous = first.getAction(ResultAction.class).getResult().getTotalSize();
+        int current = second.getAction(ResultAction.class).getResult().getTotalSize();
+        assertThat(previous).isPositive();
+        assertThat(current).isGreaterThan(previous);
+        assertThat(getConsoleLog(second)).contains(String.format(
+                "[Autograding] Annotated %d of %d new issues (%d issues in total, compared with #1)",
+                current - previous, current - previous, current));
+    }
+
+    @Test
+    void shouldGradeReportFilesOnAgent() throws Exception {
+        FreeStyleProject project = createFreeStyleProject();
+        Slave agent = getJenkins().createOnlineSlave();
+        project.setAssignedNode(agent);
+
+        FilePath workspace = agent.getWorkspaceFor(project);
+        assertThat(workspace).isNotNull();
+        copyToWorkspace(workspace, "checkstyle.xml", "target/checkstyle-result.xml");
+        for (String report : TEST_REPORTS) {
+            copyToWorkspace(workspace, report, "target/surefire-reports/" + report);
+        }
+
+        var autoGrader = new AutoGrader(json("""
+                  "analysis": {
+                    "tools": [
+                        {
+                          "id": "checkstyle",
+                          "name": "CheckStyle",
+                          "pattern": "**/checkstyle-result.xml"
+                        }
+                      ],
+                    "errorImpact": -10,
+                    "highImpact": -5,
+                    "normalImpact": -2,
+                    "lowImpact": -1,
+                    "maxScore": 100
+                  },
+                  "tests": {
+                    "tools": [
+                        {
+                          "id": "junit",
+                          "name": "Tests",
+                          "pattern": "**/surefire-reports/TEST-*.xml"
+                        }
+                      ],
+                    "passedImpact": 1,
+                    "failureImpact": -5,
+                    "skippedImpact": -1,
+                    "maxScore": 100
+                  }
+                """));
+        autoGrader.setAgentSide(true);
+        project.getPublishersList().add(autoGrader);
+
+        Run<?, ?> build = buildSuccessfully(project);
+
+        assertThat(getConsoleLog(build)).contains(
+                "[Autograding] Grading report files in workspace " + workspace.getRemote(),
+                "[Autograding] -> Parsed 7 issues for checkstyle",
+                "[Autograding] -> Found 11 files for pattern '**/surefire-reports/TEST-*.xml'");
+        AggregatedScore score = getAggregatedScore(build);
+        assertThat(score.getAnalysisScores().get(0).getSubScores().get(0)).hasId("checkstyle").hasTotalSize(7);
+        assertThat(score.getTestScores().get(0)).hasPassedSize(61).hasTotalSize(61).hasImpact(61);
+    }
+
+    private void copyToWorkspace(final FilePath workspace, final String resource, final String target)
+            throws IOException, InterruptedException {
+        workspace.child(target).copyFrom(AutoGraderITest.class.getResource(resource));
+    }
+
     private void assertMultipleAnalysisScores(final Run<?, ?> baseline) {
         AggregatedScore score = getAggregatedScore(baseline);
 
@@ -329,7 +577,7 @@ class AutoGraderITest extends IntegrationTestWithJenkinsPerSuite {
     private void assertCoverageScore(final Run<?, ?> baseline) {
         assertThat(getConsoleLog(baseline)).contains(
                 "[Autograding] Processing 1 coverage configuration(s)",
-                "[Autograding] -> Found result action for Coverage Report: [MODULE] Autograding Plugin",
+                "[Autograding] -> Found result action for Coverage Report: Line Coverage",
                 "[Autograding] => Code Coverage Score: 76 of 100");
         assertThat(getConsoleLog(baseline)).containsIgnoringWhitespaces(COVERAGE_CONFIGURATION);
 
@@ -382,7 +630,7 @@ class AutoGraderITest extends IntegrationTestWithJenkinsPerSuite {
 
         assertThat(getConsoleLog(baseline)).contains(
                 "[Autograding] Processing 1 coverage configuration(s)",
-                "[Autograding] -> Found result action for Coverage Report: [MODULE] - <1> []",
+                "[Autograding] -> Found result action for Coverage Report: Mutation Coverage",
                 "[Autograding] => Code Coverage Score: 46 of 100"
         );
     }
@@ -564,9 +812,9 @@ class AutoGraderITest extends IntegrationTestWithJenkinsPerSuite {
 
         assertThat(getConsoleLog(build)).contains(
                 "[Autograding] Processing 2 coverage configuration(s)",
-                "[Autograding] -> Found result action for Coverage Report: [MODULE] Autograding Plugin",
+                "[Autograding] -> Found result action for Coverage Report: Line Coverage",
                 "[Autograding] => Code Coverage Score: 50 of 50",
-                "[Autograding] -> Found result action for Mutation Report: [MODULE] - <1> []",
+                "[Autograding] -> Found result action for Mutation Report: Mutation Coverage",
                 "[Autograding] => Mutation Coverage Score: 46 of 50");
 
         AggregatedScore score = getAggregatedScore(build);
@@ -582,6 +830,13 @@ class AutoGraderITest extends IntegrationTestWithJenkinsPerSuite {
                 .hasCoveredPercentage(73)
                 .hasMissedPercentage(27)
                 .hasImpact(46);
+
+        var summary = build.getAction(AutoGradingBuildAction.class).getSummary();
+        assertThat(summary).isEqualTo(ScoreSummary.from(score));
+        assertThat(summary.getAchieved()).isEqualTo(342);
+        assertThat(summary.getTotal()).isEqualTo(score.getTotalScore());
+        assertThat(summary.getCodeCoverage().getAchieved()).isEqualTo(50);
+        assertThat(summary.getMutationCoverage().getAchieved()).isEqualTo(46);
     }
 
     private AggregatedScore getAggregatedScore(final Run<?, ?> baseline) {
@@ -0,0 +1,108 @@
+package io.jenkins.plugins.grading;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.IssueBuilder;
+import edu.hm.hafner.analysis.Severity;
+import edu.hm.hafner.grading.AggregatedScore;
+import edu.hm.hafner.util.FilteredLog;
+
+import hudson.model.Run;
+
+import io.jenkins.plugins.checks.api.ChecksAnnotation;
+import io.jenkins.plugins.checks.api.ChecksDetails;
+import io.jenkins.plugins.checks.api.ChecksOutput;
+import io.jenkins.plugins.checks.api.ChecksPublisher;
+import io.jenkins.plugins.util.JenkinsFacade;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the class {@link AutoGradingChecksPublisher}.
+ *
+ * @author Ullrich Hafner
+ */
+class AutoGradingChecksPublisherTest {
+    private static final ToIntFunction<Severity> NO_IMPACT = severity -> 0;
+
+    @Test
+    void shouldReportSelectedIssuesAsAnnotated() {
+        var selector = new AnnotationSelector(2);
+        selector.add(List.of(createIssue("same"), createIssue("same"), createIssue("other"), createIssue("third")),
+                NO_IMPACT);
+
+        assertThat(AutoGradingChecksPublisher.createAnnotationSummary(selector, 10, "#1"))
+                .isEqualTo("Annotated 2 of 4 new issues (10 issues in total, compared with #1)");
+    }
+
+    @Test
+    void shouldReportNoAnnotationsIfAnnotationsAreDisabled() {
+        var selector = new AnnotationSelector(0);
+        selector.add(List.of(createIssue("new"), createIssue("other")), NO_IMPACT);
+
+        assertThat(AutoGradingChecksPublisher.createAnnotationSummary(selector, 5, "#1"))
+                .isEqualTo("Annotated 0 of 2 new issues (5 issues in total, compared with #1)");
+    }
+
+    @Test
+    void shouldPublishAnnotationsInBatchesOfRankedIssues() {
+        var selector = new AnnotationSelector(120);
+        selector.add(IntStream.range(0, 120).mapToObj(index -> createIssue("Issue " + index)).toList(), NO_IMPACT);
+
+        var publisher = new AutoGradingChecksPublisher(createJenkins());
+        var checks = publisher.createChecks(mock(Run.class), new AggregatedScore("", new FilteredLog("Test")),
+                selector, "");
+        var recorder = new RecordingPublisher();
+        publisher.publish(recorder, checks);
+
+        assertThat(recorder.published).hasSize(3);
+        assertThat(recorder.published).map(this::getAnnotations).map(List::size)
+                .containsExactly(AutoGradingChecksPublisher.BATCH_SIZE, AutoGradingChecksPublisher.BATCH_SIZE, 20);
+        assertThat(recorder.published.stream().map(this::getAnnotations).flatMap(List::stream)
+                .map(annotation -> annotation.getMessage().orElseThrow()))
+                .containsExactlyElementsOf(selector.getSelectedIssues().stream()
+                        .map(issue -> issue.getSeverity() + ":\n" + issue.getMessage()).toList());
+    }
+
+    @Test
+    void shouldPublishSingleCheckWithoutAnnotations() {
+        var publisher = new AutoGradingChecksPublisher(createJenkins());
+        var checks = publisher.createChecks(mock(Run.class), new AggregatedScore("", new FilteredLog("Test")),
+                new AnnotationSelector(0), "");
+        var recorder = new RecordingPublisher();
+        publisher.publish(recorder, checks);
+
+        assertThat(recorder.published).hasSize(1);
+        assertThat(getAnnotations(recorder.published.get(0))).isEmpty();
+    }
+
+    private JenkinsFacade createJenkins() {
+        var jenkins = mock(JenkinsFacade.class);
+        when(jenkins.getAbsoluteUrl(any(), any())).thenReturn("https://ci.example.com/job/test/1/autograding");
+        return jenkins;
+    }
+
+    private List<ChecksAnnotation> getAnnotations(final ChecksDetails details) {
+        return details.getOutput().map(ChecksOutput::getChecksAnnotations).orElseThrow();
+    }
+
+    private Issue createIssue(final String message) {
+        return new IssueBuilder().setFileName("File.java").setLineStart(1).setMessage(message).build();
+    }
+
+    private static class RecordingPublisher extends ChecksPublisher {
+        private final List<ChecksDetails> published = new ArrayList<>();
+
+        @Override
+        public void publish(final ChecksDetails details) {
+            published.add(details);
+        }
+    }
+}
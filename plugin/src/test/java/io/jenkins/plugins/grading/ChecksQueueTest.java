@@ -0,0 +1,206 @@
+package io.jenkins.plugins.grading;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.jenkins.plugins.checks.api.ChecksDetails;
+import io.jenkins.plugins.checks.api.ChecksDetails.ChecksDetailsBuilder;
+import io.jenkins.plugins.checks.api.ChecksPublisher;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link ChecksQueue}.
+ *
+ * @author Ullrich Hafner
+ */
+class ChecksQueueTest {
+    private static final String RUN = "job#1";
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(2);
+
+    @AfterEach
+    void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldPublishAllChecksInOrder() {
+        var queue = new ChecksQueue(executor, 3, Duration.ZERO);
+        var publisher = new RecordingPublisher();
+
+        queue.submit(RUN, () -> publisher, () -> createChecks("1", "2", "3"));
+
+        assertThat(queue.drain(TIMEOUT)).isTrue();
+        assertThat(publisher.getPublished()).containsExactly("1", "2", "3");
+        assertThat(queue.getPublishedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldPublishOnlyLatestQueuedChecksOfRun() {
+        var queue = new ChecksQueue(executor, 3, Duration.ZERO);
+        var blocked = new CountDownLatch(1);
+        var publisher = new RecordingPublisher(blocked);
+
+        queue.submit(RUN, () -> publisher, () -> createChecks("first"));
+        queue.submit(RUN, () -> publisher, () -> createChecks("second"));
+        queue.submit(RUN, () -> publisher, () -> createChecks("third"));
+        blocked.countDown();
+
+        assertThat(queue.drain(TIMEOUT)).isTrue();
+        assertThat(publisher.getPublished()).containsExactly("first", "third");
+        assertThat(queue.getSupersededCount()).isEqualTo(1);
+        assertThat(queue.getPublishedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotCreateChecksOfSupersededPublications() {
+        var queue = new ChecksQueue(executor, 3, Duration.ZERO);
+        var blocked = new CountDownLatch(1);
+        var publisher = new RecordingPublisher(blocked);
+        var created = new AtomicInteger();
+
+        queue.submit(RUN, () -> publisher, () -> createChecks("first"));
+        queue.submit(RUN, () -> publisher, () -> {
+            created.incrementAndGet();
+            return createChecks("second");
+        });
+        queue.submit(RUN, () -> publisher, () -> createChecks("third"));
+        blocked.countDown();
+
+        assertThat(queue.drain(TIMEOUT)).isTrue();
+        assertThat(publisher.getPublished()).containsExactly("first", "third");
+        assertThat(created).hasValue(0);
+    }
+
+    @Test
+    void shouldFinishPublicationIfCreatingChecksThrowsError() {
+        var queue = new ChecksQueue(executor, 3, Duration.ZERO);
+        var publisher = new RecordingPublisher();
+
+        queue.submit(RUN, () -> publisher, () -> {
+            throw new LinkageError("Missing class");
+        });
+
+        assertThat(queue.drain(TIMEOUT)).isTrue();
+        assertThat(queue.getFailedCount()).isEqualTo(1);
+        assertThat(queue.getRetryCount()).isZero();
+
+        queue.submit(RUN, () -> publisher, () -> createChecks("1"));
+        assertThat(queue.drain(TIMEOUT)).isTrue();
+        assertThat(publisher.getPublished()).containsExactly("1");
+    }
+
+    @Test
+    void shouldNotCoalesceChecksOfDifferentRuns() {
+        var queue = new ChecksQueue(executor, 3, Duration.ZERO);
+        var publisher = new RecordingPublisher();
+
+        queue.submit("job#1", () -> publisher, () -> createChecks("1"));
+        queue.submit("job#2", () -> publisher, () -> createChecks("2"));
+
+        assertThat(queue.drain(TIMEOUT)).isTrue();
+        assertThat(publisher.getPublished()).containsExactlyInAnyOrder("1", "2");
+        assertThat(queue.getSupersededCount()).isZero();
+    }
+
+    @Test
+    void shouldRetryFailedChecksWithoutRepublishingPreviousBatches() {
+        var queue = new ChecksQueue(executor, 3, Duration.ofMillis(1));
+        var publisher = new RecordingPublisher();
+        publisher.failingCheck = "2";
+        publisher.failures = 2;
+
+        queue.submit(RUN, () -> publisher, () -> createChecks("1", "2"));
+
+        assertThat(queue.drain(TIMEOUT)).isTrue();
+        assertThat(publisher.getPublished()).containsExactly("1", "2");
+        assertThat(queue.getRetryCount()).isEqualTo(2);
+        assertThat(queue.getFailedCount()).isZero();
+    }
+
+    @Test
+    void shouldGiveUpAfterMaximumNumberOfRetries() {
+        var queue = new ChecksQueue(executor, 2, Duration.ofMillis(1));
+        var publisher = new RecordingPublisher();
+        publisher.failures = Integer.MAX_VALUE;
+
+        queue.submit(RUN, () -> publisher, () -> createChecks("1"));
+        assertThat(queue.drain(TIMEOUT)).isTrue();
+        assertThat(queue.getRetryCount()).isEqualTo(2);
+        assertThat(queue.getFailedCount()).isEqualTo(1);
+
+        publisher.failures = 0;
+        queue.submit(RUN, () -> publisher, () -> createChecks("2"));
+        assertThat(queue.drain(TIMEOUT)).isTrue();
+        assertThat(publisher.getPublished()).containsExactly("2");
+    }
+
+    @Test
+    void shouldStopDrainingAfterTimeout() {
+        var queue = new ChecksQueue(executor, 3, Duration.ZERO);
+        var blocked = new CountDownLatch(1);
+
+        queue.submit(RUN, () -> new RecordingPublisher(blocked), () -> createChecks("1"));
+
+        assertThat(queue.drain(Duration.ofMillis(50))).isFalse();
+        blocked.countDown();
+        assertThat(queue.drain(TIMEOUT)).isTrue();
+    }
+
+    private List<ChecksDetails> createChecks(final String... names) {
+        List<ChecksDetails> checks = new ArrayList<>();
+        for (String name : names) {
+            checks.add(new ChecksDetailsBuilder().withName(name).build());
+        }
+        return checks;
+    }
+
+    /** Records the names of the published checks, optionally blocks or fails. */
+    private static class RecordingPublisher extends ChecksPublisher {
+        private final List<String> published = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch blocked;
+        private volatile String failingCheck;
+        private volatile int failures;
+
+        RecordingPublisher() {
+            this(new CountDownLatch(0));
+        }
+
+        RecordingPublisher(final CountDownLatch blocked) {
+            super();
+
+            this.blocked = blocked;
+        }
+
+        @Override
+        public void publish(final ChecksDetails details) {
+            try {
+                blocked.await();
+            }
+            catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            var name = details.getName().orElse("-");
+            if (failures > 0 && (failingCheck == null || failingCheck.equals(name))) {
+                failures--;
+                throw new IllegalStateException("SCM provider is not available");
+            }
+            published.add(name);
+        }
+
+        List<String> getPublished() {
+            return List.copyOf(published);
+        }
+    }
+}
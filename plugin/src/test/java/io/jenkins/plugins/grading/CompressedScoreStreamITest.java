@@ -0,0 +1,144 @@
+package io.jenkins.plugins.grading;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.hm.hafner.grading.AggregatedScore;
+import edu.hm.hafner.util.FilteredLog;
+
+import hudson.util.XStream2;
+
+import static edu.hm.hafner.grading.assertions.Assertions.*;
+
+/**
+ * Tests the class {@link CompressedScoreStream}.
+ *
+ * @author Ullrich Hafner
+ */
+class CompressedScoreStreamITest extends AbstractScoreSerializationTest {
+    @TempDir
+    private Path buildDirectory;
+
+    @Test
+    void shouldReadAndWriteCompressedScores() throws IOException {
+        var stream = new CompressedScoreStream();
+        var file = buildDirectory.resolve(CompressedScoreStream.FILE_NAME);
+
+        stream.write(file, createScore());
+
+        assertThat(Arrays.copyOf(Files.readAllBytes(file), 5)).containsExactly(new byte[] {'A', 'G', 'R', 'D', 1});
+        verifyScore(stream.read(file));
+    }
+
+    @Test
+    void shouldFallBackToLegacyXmlFile() {
+        new AggregatedScoreXmlStream().write(buildDirectory.resolve(CompressedScoreStream.LEGACY_FILE_NAME),
+                createScore());
+
+        verifyScore(new CompressedScoreStream().read(buildDirectory.resolve(CompressedScoreStream.FILE_NAME)));
+    }
+
+    @Test
+    void shouldNotStoreLogMessages() {
+        var score = createScoreWithMessages();
+
+        var file = buildDirectory.resolve(CompressedScoreStream.FILE_NAME);
+        var stream = new CompressedScoreStream();
+        stream.write(file, score);
+
+        var restored = stream.read(file);
+        assertThat(restored.getInfoMessages()).isEmpty();
+        assertThat(restored.getErrorMessages()).isEmpty();
+    }
+
+    @Test
+    void shouldReadLogMessagesOfLegacyXmlFile() throws IOException {
+        var score = createScoreWithMessages();
+        var legacyFile = buildDirectory.resolve(CompressedScoreStream.LEGACY_FILE_NAME);
+        Files.writeString(legacyFile, new XStream2().toXML(score));
+
+        var restored = new CompressedScoreStream().read(legacyFile);
+
+        assertThat(restored.getInfoMessages()).contains("Info message");
+        assertThat(restored.getErrorMessages()).contains("Error message");
+    }
+
+    private AggregatedScore createScoreWithMessages() {
+        var log = new FilteredLog("Test");
+        var score = new AggregatedScore("", log);
+        log.logInfo("Info message");
+        log.logError("Error message");
+        return score;
+    }
+
+    @Test
+    void shouldReturnDefaultForMissingOrBrokenFile() throws IOException {
+        var stream = new CompressedScoreStream();
+        var file = buildDirectory.resolve(CompressedScoreStream.FILE_NAME);
+
+        assertThat(stream.read(file)).hasAchievedScore(0);
+
+        Files.write(file, new byte[] {'A', 'G', 'R', 'D', 42, 1, 2, 3});
+        assertThat(stream.read(file)).hasAchievedScore(0);
+    }
+
+    @Test
+    void shouldReturnDefaultForFileWithIncompleteHeader() throws IOException {
+        var stream = new CompressedScoreStream();
+        var file = buildDirectory.resolve(CompressedScoreStream.FILE_NAME);
+
+        Files.write(file, new byte[] {'A', 'G', 'R', 'D'});
+        assertThat(stream.read(file)).hasAchievedScore(0);
+
+        Files.write(file, new byte[] {'A', 'G'});
+        assertThat(stream.read(file)).hasAchievedScore(0);
+    }
+
+    @Test
+    void shouldDeleteTemporaryFileIfWritingFails() throws IOException {
+        var file = buildDirectory.resolve(CompressedScoreStream.FILE_NAME);
+        Files.createDirectories(file.resolve("blocked")); // a non-empty directory can't be replaced
+
+        new CompressedScoreStream().write(file, createScore());
+
+        try (var files = Files.list(buildDirectory)) {
+            assertThat(files).containsExactly(file);
+        }
+    }
+
+    @Test
+    void shouldPropagateWriteFailures() throws IOException {
+        var file = buildDirectory.resolve(CompressedScoreStream.FILE_NAME);
+        Files.createDirectories(file.resolve("blocked"));
+
+        assertThatExceptionOfType(IOException.class)
+                .isThrownBy(() -> new CompressedScoreStream().writeCompressed(file, createScore()));
+        try (var files = Files.list(buildDirectory)) {
+            assertThat(files).containsExactly(file);
+        }
+    }
+
+    @Test
+    void shouldBeSmallerThanXml() throws IOException {
+        var score = createScore();
+
+        var xmlFile = buildDirectory.resolve(CompressedScoreStream.LEGACY_FILE_NAME);
+        new AggregatedScoreXmlStream().write(xmlFile, score);
+
+        var compressedFile = buildDirectory.resolve(CompressedScoreStream.FILE_NAME);
+        var compressedStream = new CompressedScoreStream();
+        compressedStream.write(compressedFile, score);
+        verifyScore(compressedStream.read(compressedFile));
+
+        long xmlSize = Files.size(xmlFile);
+        long compressedSize = Files.size(compressedFile);
+        assertThat(compressedSize)
+                .as("Compressed size %d bytes, XML size %d bytes", compressedSize, xmlSize)
+                .isLessThan(xmlSize / 2);
+    }
+}
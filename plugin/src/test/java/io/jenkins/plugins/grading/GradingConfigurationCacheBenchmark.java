@@ -0,0 +1,90 @@
+package io.jenkins.plugins.grading;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.grading.AggregatedScore;
+import edu.hm.hafner.util.FilteredLog;
+
+/**
+ * Compares the cost of looking up a configuration in the {@link GradingConfigurationCache} with the cost of parsing the
+ * configuration. Each build needs the parsed tools of the plugin and an {@link AggregatedScore} that parses the
+ * configuration on its own. Without the cache, a build parses the configuration twice.
+ *
+ * @author Ullrich Hafner
+ */
+class GradingConfigurationCacheBenchmark extends AbstractBenchmark {
+    private static final int BUILDS = 10_000;
+    private static final String CONFIGURATION = """
+            {
+              "tests": {
+                "tools": [{"id": "tests", "name": "Tests", "pattern": "**/TEST-*.xml"}],
+                "passedImpact": 1,
+                "failureImpact": -5,
+                "skippedImpact": -1,
+                "maxScore": 100
+              },
+              "analysis": [{
+                "name": "Style",
+                "tools": [{"id": "checkstyle", "name": "CheckStyle"}, {"id": "pmd", "name": "PMD"}],
+                "errorImpact": -10,
+                "highImpact": -5,
+                "normalImpact": -2,
+                "lowImpact": -1,
+                "maxScore": 100
+              },
+              {
+                "name": "Bugs",
+                "tools": [{"id": "spotbugs", "name": "SpotBugs"}],
+                "errorImpact": -10,
+                "highImpact": -5,
+                "normalImpact": -2,
+                "lowImpact": -1,
+                "maxScore": 100
+              }],
+              "coverage": [{
+                "name": "Code Coverage",
+                "tools": [{"id": "coverage", "metric": "line"}, {"id": "coverage", "metric": "branch"}],
+                "coveredPercentageImpact": 1,
+                "missedPercentageImpact": -1,
+                "maxScore": 100
+              }]
+            }
+            """;
+
+    @Test
+    void shouldCompareCacheLookupWithParsing() {
+        var cache = new GradingConfigurationCache(10);
+
+        // every Pipeline build reads a new instance of the configuration
+        long lookup = measure(() -> {
+            long tools = 0;
+            for (int i = 0; i < BUILDS; i++) {
+                tools += cache.compile(new String(CONFIGURATION.toCharArray())).getAnalysisTools().size();
+            }
+            return tools;
+        });
+        long parse = measure(() -> {
+            long tools = 0;
+            for (int i = 0; i < BUILDS; i++) {
+                tools += GradingConfiguration.parse(CONFIGURATION).getAnalysisTools().size();
+            }
+            return tools;
+        });
+        long score = measure(() -> {
+            long total = 0;
+            for (int i = 0; i < BUILDS; i++) {
+                total += new AggregatedScore(CONFIGURATION, new FilteredLog("Benchmark")).getTotalScore();
+            }
+            return total;
+        });
+
+        report("Per build: cache lookup %.2f µs, parsing the tools %.2f µs, creating the score %.2f µs",
+                perBuild(lookup), perBuild(parse), perBuild(score));
+        report("Per build with cache: %.2f µs, without cache: %.2f µs",
+                perBuild(score + lookup), perBuild(score + parse));
+    }
+
+    private double perBuild(final long nanos) {
+        return nanos / 1000.0 / BUILDS;
+    }
+}
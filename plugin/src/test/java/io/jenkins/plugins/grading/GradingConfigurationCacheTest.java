@@ -0,0 +1,91 @@
+package io.jenkins.plugins.grading;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link GradingConfigurationCache}.
+ *
+ * @author Ullrich Hafner
+ */
+class GradingConfigurationCacheTest {
+    private static final String ANALYSIS = """
+            {
+              "analysis": {
+                "tools": [
+                  {
+                    "id": "checkstyle",
+                    "name": "CheckStyle"
+                  },
+                  {
+                    "id": "pmd",
+                    "name": "PMD"
+                  }
+                ],
+                "errorImpact": -10,
+                "maxScore": 100
+              }
+            }
+            """;
+    private static final String TESTS = """
+            {
+              "tests": {
+                "tools": [
+                  {
+                    "id": "tests",
+                    "name": "Tests"
+                  }
+                ],
+                "failureImpact": -5,
+                "maxScore": 100
+              }
+            }
+            """;
+    private static final String EMPTY = "{}";
+
+    @Test
+    void shouldReuseCompiledConfiguration() {
+        var cache = new GradingConfigurationCache(10);
+
+        var compiled = cache.compile(ANALYSIS);
+        assertThat(compiled.getAnalysisTools()).extracting("id").containsExactly("checkstyle", "pmd");
+        assertThat(compiled.getCoverageTools()).isEmpty();
+        assertThat(compiled.getTestTools()).isEmpty();
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isZero();
+
+        assertThat(cache.compile(ANALYSIS)).isSameAs(compiled);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+
+        assertThat(cache.compile(new String(ANALYSIS.toCharArray()))).isSameAs(compiled);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedConfiguration() {
+        var cache = new GradingConfigurationCache(2);
+
+        var analysis = cache.compile(ANALYSIS);
+        cache.compile(TESTS);
+        assertThat(cache.compile(ANALYSIS)).isSameAs(analysis);
+
+        cache.compile(EMPTY);
+        assertThat(cache.size()).isEqualTo(2);
+
+        assertThat(cache.compile(ANALYSIS)).isSameAs(analysis);
+        assertThat(cache.compile(TESTS).getTestTools()).extracting("id").containsExactly("tests");
+        assertThat(cache.getHitCount()).isEqualTo(2);
+        assertThat(cache.getMissCount()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldCreateHashOfContent() {
+        assertThat(GradingConfiguration.hash(ANALYSIS))
+                .isEqualTo(GradingConfiguration.hash(ANALYSIS))
+                .isNotEqualTo(GradingConfiguration.hash(TESTS))
+                .hasSize(64);
+    }
+}
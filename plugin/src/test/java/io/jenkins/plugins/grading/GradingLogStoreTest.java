@@ -0,0 +1,49 @@
+package io.jenkins.plugins.grading;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import edu.hm.hafner.util.FilteredLog;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link GradingLogStore}.
+ *
+ * @author Ullrich Hafner
+ */
+class GradingLogStoreTest {
+    @TempDir
+    private Path buildDirectory;
+
+    @ParameterizedTest(name = "compressed = {0}")
+    @ValueSource(booleans = {true, false})
+    void shouldWriteAndReadMessages(final boolean compress) {
+        var log = new FilteredLog("Test");
+        log.logInfo("Grading static analysis results");
+        log.logInfo("Umlauts: äöü, multiple%nlines");
+        log.logError("No files found for pattern '%s'", "**/pmd.xml");
+
+        GradingLogStore.write(buildDirectory, log, compress);
+
+        assertThat(GradingLogStore.read(buildDirectory)).hasValueSatisfying(messages -> {
+            assertThat(messages.infoMessages()).isEqualTo(log.getInfoMessages());
+            assertThat(messages.errorMessages()).isEqualTo(log.getErrorMessages());
+        });
+    }
+
+    @Test
+    void shouldIgnoreMissingOrBrokenFiles() throws IOException {
+        assertThat(GradingLogStore.read(buildDirectory)).isEmpty();
+
+        Files.writeString(buildDirectory.resolve(GradingLogStore.FILE_NAME), "broken");
+
+        assertThat(GradingLogStore.read(buildDirectory)).isEmpty();
+    }
+}
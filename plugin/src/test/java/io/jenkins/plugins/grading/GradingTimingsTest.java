@@ -0,0 +1,82 @@
+package io.jenkins.plugins.grading;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.grading.ToolConfiguration;
+import edu.hm.hafner.util.FilteredLog;
+
+import io.jenkins.plugins.grading.GradingTimings.Phase;
+import io.jenkins.plugins.grading.GradingTimings.Timing;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link GradingTimings}.
+ *
+ * @author Ullrich Hafner
+ */
+class GradingTimingsTest {
+    private static final ToolConfiguration CHECKSTYLE = new ToolConfiguration("checkstyle", "CheckStyle", "", "", "");
+    private static final ToolConfiguration PMD = new ToolConfiguration("pmd", "PMD", "", "", "");
+
+    @Test
+    void shouldRecordLoadingOfEveryTool() {
+        var timings = new GradingTimings();
+        assertThat(timings.isEmpty()).isTrue();
+
+        var loader = timings.measureLoading(GradingTimings.ANALYSIS, (tool, log) -> tool.getId());
+        var log = new FilteredLog("Test");
+
+        assertThat(loader.apply(CHECKSTYLE, log)).isEqualTo("checkstyle");
+        assertThat(loader.apply(PMD, log)).isEqualTo("pmd");
+
+        assertThat(timings.getTimings()).extracting(Timing::getPhase, Timing::getCategory, Timing::getTool)
+                .containsExactly(
+                        tuple(Phase.LOADING, GradingTimings.ANALYSIS, "checkstyle"),
+                        tuple(Phase.LOADING, GradingTimings.ANALYSIS, "pmd"));
+        assertThat(timings.getTimings()).allSatisfy(timing -> assertThat(timing.getDurationNanos()).isNotNegative());
+    }
+
+    @Test
+    void shouldNotCountLoadingAsScoring() {
+        var timings = new GradingTimings();
+
+        timings.<String>measureScoring(GradingTimings.TESTS, (tool, log) -> {
+            sleep();
+            return tool.getId();
+        }, loader -> loader.apply(CHECKSTYLE, new FilteredLog("Test")));
+
+        assertThat(timings.getTimings()).singleElement().satisfies(timing -> {
+            assertThat(timing.getPhase()).isEqualTo(Phase.SCORING);
+            assertThat(timing.getCategory()).isEqualTo(GradingTimings.TESTS);
+            assertThat(timing.getDurationMillis()).isLessThan(50);
+        });
+    }
+
+    @Test
+    void shouldRecordTimingsOfFailedActions() {
+        var timings = new GradingTimings();
+
+        assertThatIllegalStateException().isThrownBy(() -> timings.measure(Phase.CHECKS, () -> {
+            throw new IllegalStateException("failed");
+        }));
+        timings.measure(Phase.PERSISTENCE, GradingTimings::new);
+
+        var other = new GradingTimings();
+        other.record(Phase.LOOKUP, "", "", 2_000_000, -1);
+        timings.addAll(other);
+
+        assertThat(timings.getTimings()).extracting(Timing::getPhase)
+                .containsExactly(Phase.CHECKS, Phase.PERSISTENCE, Phase.LOOKUP);
+        assertThat(timings.getTotalMillis(Phase.LOOKUP)).isEqualTo(2);
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(100);
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
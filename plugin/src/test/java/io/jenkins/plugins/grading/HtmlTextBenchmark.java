@@ -0,0 +1,69 @@
+package io.jenkins.plugins.grading;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+import org.junit.jupiter.api.Test;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.TextNode;
+
+/**
+ * Compares the conversion of annotation messages by {@link HtmlText} with the previous implementation that parsed
+ * every message into a Jsoup DOM. The messages are unique, so the cache of {@link HtmlText} is not used.
+ *
+ * @author Ullrich Hafner
+ */
+class HtmlTextBenchmark extends AbstractBenchmark {
+    private static final int MESSAGES = 5000;
+    private static final String PMD_MESSAGE = "Avoid unused imports such as 'java.util.List'.<p>"
+            + "Rule: <a href=\"https://pmd.github.io/latest/pmd_rules_java_bestpractices.html#unusedimports\">"
+            + "UnusedImports</a></p><ul><li>First <b>bold</b> item</li><li>Second &amp; <code>last</code> item</li>"
+            + "</ul><pre>import java.util.List;</pre>";
+
+    @Test
+    void shouldCompareConversionWithJsoup() {
+        List<String> messages = new ArrayList<>();
+        for (int i = 0; i < MESSAGES; i++) {
+            messages.add(PMD_MESSAGE + " Issue " + i);
+        }
+
+        long stripper = measure(() -> convert(messages, HtmlText::convert));
+        long jsoup = measure(() -> convert(messages, HtmlTextBenchmark::parseWithJsoup));
+
+        report("Converted %d messages: HtmlText %.2f ms, Jsoup %.2f ms (%.1f times faster)",
+                MESSAGES, stripper / 1_000_000.0, jsoup / 1_000_000.0, (double) jsoup / stripper);
+    }
+
+    private long convert(final List<String> messages, final UnaryOperator<String> converter) {
+        long length = 0;
+        for (String message : messages) {
+            length += converter.apply(message).length();
+        }
+        return length;
+    }
+
+    private static String parseWithJsoup(final String html) {
+        Set<String> contents = new HashSet<>();
+        parseWithJsoup(Jsoup.parse(html), contents);
+        return String.join("\n", contents);
+    }
+
+    private static void parseWithJsoup(final Element html, final Set<String> contents) {
+        for (TextNode node : html.textNodes()) {
+            contents.add(node.text().trim());
+        }
+
+        for (Element child : html.children()) {
+            if (child.hasAttr("href")) {
+                contents.add(child.text().trim() + ":" + child.attr("href").trim());
+            }
+            else {
+                parseWithJsoup(child, contents);
+            }
+        }
+    }
+}
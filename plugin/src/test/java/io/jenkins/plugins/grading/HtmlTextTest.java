@@ -0,0 +1,69 @@
+package io.jenkins.plugins.grading;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link HtmlText}.
+ *
+ * @author Ullrich Hafner
+ */
+class HtmlTextTest {
+    private static final String PMD_MESSAGE = "Avoid unused imports such as 'java.util.List'.<p>"
+            + "Rule: <a href=\"https://pmd.github.io/latest/pmd_rules_java_bestpractices.html#unusedimports\">"
+            + "UnusedImports</a></p><ul><li>First <b>bold</b> item</li><li>Second &amp; <code>last</code> item</li>"
+            + "</ul><pre>import java.util.List;</pre>";
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("createMessages")
+    void shouldConvertHtmlToText(final String html, final String expected) {
+        assertThat(HtmlText.convert(html)).isEqualTo(expected);
+        assertThat(HtmlText.toText(html)).isEqualTo(expected);
+    }
+
+    static Stream<Arguments> createMessages() {
+        return Stream.of(
+                Arguments.of("Plain text", "Plain text"),
+                Arguments.of("  Collapsed   \t whitespace  ", "Collapsed whitespace"),
+                Arguments.of("<b>Bold</b> and <i>italic</i>", "Bold and italic"),
+                Arguments.of("First<br>Second<br/>Third", "First\nSecond\nThird"),
+                Arguments.of("<p>First</p><p></p><p>Second</p>", "First\nSecond"),
+                Arguments.of("&lt;tag&gt; &amp; &quot;quoted&quot; &#39;single&#39; &#x41;",
+                        "<tag> & \"quoted\" 'single' A"),
+                Arguments.of("a < b && c > d", "a < b && c > d"),
+                Arguments.of("Unknown &entity; stays", "Unknown &entity; stays"),
+                Arguments.of("Invalid &#x110000; &#1114112; &#-1; stays", "Invalid &#x110000; &#1114112; &#-1; stays"),
+                Arguments.of("Before<!-- comment -->After", "BeforeAfter"),
+                Arguments.of("Text<script>alert('x')</script> end", "Text end"),
+                Arguments.of("See <A HREF='https://example.com?a=1&amp;b=2'>docs</A>.",
+                        "See docs:https://example.com?a=1&b=2."),
+                Arguments.of("<a name=\"anchor\">No link</a>", "No link"),
+                Arguments.of("Unclosed <b", "Unclosed <b"),
+                Arguments.of("Example:<pre>\nif (a) {\r\n    b();\n}\n</pre>Done",
+                        "Example:\nif (a) {\n    b();\n}\nDone"),
+                Arguments.of("<pre>  a &lt;  b\n\n  c</pre>", "  a <  b\n\n  c"));
+    }
+
+    @Test
+    void shouldKeepOrderOfTextAndLinks() {
+        assertThat(HtmlText.convert(PMD_MESSAGE)).isEqualTo("""
+                Avoid unused imports such as 'java.util.List'.
+                Rule: UnusedImports:https://pmd.github.io/latest/pmd_rules_java_bestpractices.html#unusedimports
+                First bold item
+                Second & last item
+                import java.util.List;""");
+    }
+
+    @Test
+    void shouldReturnCachedText() {
+        var text = HtmlText.toText(PMD_MESSAGE);
+
+        assertThat(HtmlText.toText(PMD_MESSAGE)).isSameAs(text);
+    }
+}
@@ -4,7 +4,10 @@ import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
+import edu.hm.hafner.analysis.IssueBuilder;
 import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.analysis.Severity;
+import edu.hm.hafner.grading.AggregatedScore;
 import edu.hm.hafner.grading.ToolConfiguration;
 import edu.hm.hafner.util.FilteredLog;
 
@@ -53,4 +56,97 @@ class JenkinsAnalysisReportFactoryTest {
 
         assertThat(analysisSupplier.create(tool, log)).isSameAs(report);
     }
+
+    @Test
+    void shouldCreateReportWithTotalsOnly() {
+        var result = createResultWithTotals();
+
+        Run<?, ?> run = mock(Run.class);
+        when(run.getActions(any())).thenReturn(List.of(createAction(result)));
+
+        JenkinsAnalysisReportFactory analysisSupplier = new JenkinsAnalysisReportFactory(new RunActionIndex(run), true);
+
+        var tool = new ToolConfiguration(ID, NAME, "unused", "unused", "unused");
+        var log = new FilteredLog("Test");
+
+        var report = analysisSupplier.create(tool, log);
+        assertThat(report.getSizeOf(Severity.ERROR)).isEqualTo(1);
+        assertThat(report.getSizeOf(Severity.WARNING_HIGH)).isEqualTo(2);
+        assertThat(report.getSizeOf(Severity.WARNING_NORMAL)).isEqualTo(3);
+        assertThat(report.getSizeOf(Severity.WARNING_LOW)).isEqualTo(4);
+        assertThat(report.size()).isEqualTo(10);
+        assertThat(report.getId()).isEqualTo(ID);
+        assertThat(report.getName()).isEqualTo(NAME);
+        verify(result, never()).getIssues();
+
+        var issues = new Report(ID, NAME);
+        var issue = new IssueBuilder().setFileName("File.java").setMessage("Message").build();
+        issues.add(issue);
+        when(result.getIssues()).thenReturn(issues);
+
+        assertThat(report.stream()).containsExactly(issue);
+        assertThat(report.get(0)).isEqualTo(issue);
+        assertThat(report.getFiles()).containsExactly("File.java");
+        assertThat(report.filter(candidate -> true)).containsExactly(issue);
+        assertThat(report.copy()).containsExactly(issue);
+        verify(result).getIssues();
+    }
+
+    @Test
+    void shouldGradeTotalsWithAggregatedScore() {
+        var result = createResultWithTotals();
+
+        Run<?, ?> run = mock(Run.class);
+        when(run.getActions(any())).thenReturn(List.of(createAction(result)));
+
+        var log = new FilteredLog("Test");
+        var score = new AggregatedScore("""
+                {
+                  "analysis": [{
+                    "name": "Style",
+                    "tools": [{"id": "analysis", "name": "Static Analysis"}],
+                    "errorImpact": -10,
+                    "highImpact": -5,
+                    "normalImpact": -2,
+                    "lowImpact": -1,
+                    "maxScore": 100
+                  }]
+                }
+                """, log);
+        score.gradeAnalysis(new JenkinsAnalysisReportFactory(new RunActionIndex(run), true));
+
+        assertThat(log.getInfoMessages()).contains(
+                "-> Found result action for Static Analysis with 10 issues",
+                "=> Style Score: 70 of 100");
+        assertThat(score.getAnalysisScores().get(0).getSubScores()).singleElement().satisfies(subScore -> {
+            assertThat(subScore.getId()).isEqualTo(ID);
+            assertThat(subScore.getName()).isEqualTo(NAME);
+            assertThat(subScore.getErrorSize()).isEqualTo(1);
+            assertThat(subScore.getHighSeveritySize()).isEqualTo(2);
+            assertThat(subScore.getNormalSeveritySize()).isEqualTo(3);
+            assertThat(subScore.getLowSeveritySize()).isEqualTo(4);
+            assertThat(subScore.getTotalSize()).isEqualTo(10);
+        });
+        verify(result, never()).getIssues();
+    }
+
+    private AnalysisResult createResultWithTotals() {
+        var result = mock(AnalysisResult.class);
+        when(result.getId()).thenReturn(ID);
+        when(result.getTotalSize()).thenReturn(10);
+        when(result.getTotalSizeOf(Severity.ERROR)).thenReturn(1);
+        when(result.getTotalSizeOf(Severity.WARNING_HIGH)).thenReturn(2);
+        when(result.getTotalSizeOf(Severity.WARNING_NORMAL)).thenReturn(3);
+        when(result.getTotalSizeOf(Severity.WARNING_LOW)).thenReturn(4);
+        return result;
+    }
+
+    private ResultAction createAction(final AnalysisResult result) {
+        var action = mock(ResultAction.class);
+        when(action.getResult()).thenReturn(result);
+        when(action.getDisplayName()).thenReturn(NAME);
+        when(action.getLabelProvider()).thenReturn(new StaticAnalysisLabelProvider(ID, NAME));
+        when(action.getId()).thenReturn(ID);
+        return action;
+    }
 }
@@ -62,4 +62,29 @@ class JenkinsCoverageReportFactoryTest {
         assertThat(result.getName()).isEqualTo("Coverage");
         assertThat(result.getChildren()).containsExactly(node);
     }
+
+    @Test
+    void shouldCreatePrunedTreeWithProjectValueOfMetric() {
+        var coverage = new CoverageBuilder().withMetric(Metric.LINE).withCovered(5).withTotal(10).build();
+
+        CoverageBuildAction action = mock(CoverageBuildAction.class);
+        when(action.getValueForMetric(Baseline.PROJECT, Metric.LINE)).thenReturn(Optional.of(coverage));
+        when(action.getUrlName()).thenReturn(ID);
+        when(action.getDisplayName()).thenReturn(NAME);
+        when(action.getFormatter()).thenReturn(new ElementFormatter());
+
+        Run<?, ?> run = mock(Run.class);
+        when(run.getActions(any())).thenReturn(List.of(action));
+
+        JenkinsCoverageReportFactory coverageSupplier = new JenkinsCoverageReportFactory(new RunActionIndex(run), true);
+
+        var tool = new ToolConfiguration(ID, NAME, "unused", "unused", "line");
+        var log = new FilteredLog("Test");
+
+        var result = coverageSupplier.create(tool, log);
+        assertThat(result.getName()).isEqualTo(NAME);
+        assertThat(result.getChildren()).isEmpty();
+        assertThat(result.getValue(Metric.LINE)).contains(coverage);
+        verify(action, never()).getResult();
+    }
 }
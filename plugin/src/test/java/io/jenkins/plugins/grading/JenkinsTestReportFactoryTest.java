@@ -1,11 +1,18 @@
 package io.jenkins.plugins.grading;
 
+import java.util.List;
+import java.util.Set;
+
 import org.junit.jupiter.api.Test;
 
+import edu.hm.hafner.coverage.ClassNode;
 import edu.hm.hafner.grading.ToolConfiguration;
 import edu.hm.hafner.util.FilteredLog;
 
 import hudson.model.Run;
+import hudson.tasks.junit.CaseResult;
+import hudson.tasks.junit.SuiteResult;
+import hudson.tasks.junit.TestResult;
 import hudson.tasks.junit.TestResultAction;
 
 import static edu.hm.hafner.grading.assertions.Assertions.*;
@@ -38,6 +45,258 @@ class JenkinsTestReportFactoryTest {
         var tool = new ToolConfiguration(ID, NAME, "unused", "unused", "unused");
         var log = new FilteredLog("Test");
 
-        assertThat(testSupplier.create(tool, log)).isEqualTo(testSupplier.createTestReport(2, 1, 2));
+        assertThat(testSupplier.create(tool, log)).isEqualTo(JenkinsTestReportFactory.createTestReport(2, 2, 1));
+    }
+
+    @Test
+    void shouldNotMixUpFailedAndSkippedTests() {
+        TestResultAction action = mock(TestResultAction.class);
+        when(action.getTotalCount()).thenReturn(10);
+        when(action.getFailCount()).thenReturn(3);
+        when(action.getSkipCount()).thenReturn(1);
+
+        Run<?, ?> run = mock(Run.class);
+        when(run.getAction(TestResultAction.class)).thenReturn(action);
+
+        var report = new JenkinsTestReportFactory(run).create(new ToolConfiguration("tests", NAME, "", "", ""),
+                new FilteredLog("Test"));
+
+        assertThat(report.getName()).isEqualTo("Tests (3/1/6)");
+        assertThat(report).isEqualTo(JenkinsTestReportFactory.createTestReport(6, 1, 3));
+    }
+
+    @Test
+    void shouldSelectSuitesOfStage() {
+        var unit = createSuite(List.of("Unit Tests"), "target/surefire-reports/TEST-Unit.xml",
+                createCase("UnitTest", "passed", false, false),
+                createCase("UnitTest", "failed", true, false),
+                createCase("OtherUnitTest", "skipped", false, true));
+        var integration = createSuite(List.of("Integration Tests"), "target/failsafe-reports/TEST-ITest.xml",
+                createCase("ITest", "passed", false, false));
+
+        var testResult = mock(TestResult.class);
+        when(testResult.getSuites()).thenReturn(List.of(unit, integration));
+        var action = mock(TestResultAction.class);
+        when(action.getResult()).thenReturn(testResult);
+
+        Run<?, ?> run = mock(Run.class);
+        when(run.getActions(TestResultAction.class)).thenReturn(List.of(action));
+        var actions = spy(new RunActionIndex(run));
+        doReturn(Set.of("Unit Tests", "Integration Tests")).when(actions).findBlockNames();
+
+        JenkinsTestReportFactory testSupplier = new JenkinsTestReportFactory(actions, true);
+        var log = new FilteredLog("Test");
+
+        var unitTests = testSupplier.create(new ToolConfiguration("Unit Tests", NAME, "", "", ""), log);
+        assertThat(unitTests.getChildren()).hasSize(2);
+        assertThat(unitTests.getAllTestCases()).hasSize(3);
+
+        var integrationTests = testSupplier.create(
+                new ToolConfiguration("integration", NAME, "**/failsafe-reports/*.xml", "", ""), log);
+        assertThat(integrationTests.getChildren()).hasSize(1);
+        assertThat(integrationTests.getAllTestCases()).hasSize(1);
+
+        assertThat(log.getInfoMessages()).contains(
+                "-> Found 2 test classes for Unit Tests",
+                "-> Found 1 test classes for integration");
+    }
+
+    @Test
+    void shouldFingerprintSelectedSuites() {
+        var unitTool = new ToolConfiguration("Unit Tests", NAME, "", "", "");
+
+        var before = createFingerprint(unitTool,
+                createSuite(List.of("Unit Tests"), "TEST-Unit.xml", createCase("UnitTest", "passed", false, false)),
+                createSuite(List.of("Integration Tests"), "TEST-ITest.xml", createCase("ITest", "passed", false, false),
+                        createCase("ITest", "other", false, false)));
+        var moved = createFingerprint(unitTool,
+                createSuite(List.of("Unit Tests"), "TEST-Unit.xml", createCase("UnitTest", "passed", false, false),
+                        createCase("ITest", "other", false, false)),
+                createSuite(List.of("Integration Tests"), "TEST-ITest.xml",
+                        createCase("ITest", "passed", false, false)));
+        var same = createFingerprint(unitTool,
+                createSuite(List.of("Unit Tests"), "TEST-Unit.xml", createCase("UnitTest", "passed", false, false)),
+                createSuite(List.of("Integration Tests"), "TEST-ITest.xml", createCase("ITest", "passed", false, false),
+                        createCase("ITest", "other", false, false)));
+
+        assertThat(moved).isNotEqualTo(before);
+        assertThat(same).isEqualTo(before);
+    }
+
+    @Test
+    void shouldReadSelectedSuitesOnlyOnceForFingerprintAndReport() {
+        var unit = createSuite(List.of("Unit Tests"), "TEST-Unit.xml",
+                createCase("UnitTest", "passed", false, false),
+                createCase("UnitTest", "failed", true, false));
+
+        var testResult = mock(TestResult.class);
+        when(testResult.getSuites()).thenReturn(List.of(unit));
+        var action = mock(TestResultAction.class);
+        when(action.getResult()).thenReturn(testResult);
+
+        Run<?, ?> run = mock(Run.class);
+        when(run.getActions(TestResultAction.class)).thenReturn(List.of(action));
+        var actions = spy(new RunActionIndex(run));
+        doReturn(Set.of("Unit Tests")).when(actions).findBlockNames();
+
+        var testSupplier = new JenkinsTestReportFactory(actions, true);
+        var tool = new ToolConfiguration("Unit Tests", NAME, "", "", "");
+
+        assertThat(testSupplier.createFingerprint(tool)).isEqualTo("TEST-Unit.xml:2:1:0|");
+        assertThat(testSupplier.create(tool, new FilteredLog("Test")).getAllTestCases()).hasSize(2);
+
+        verify(unit).getCases();
+        verify(testResult).getSuites();
+    }
+
+    private String createFingerprint(final ToolConfiguration tool, final SuiteResult... suites) {
+        var testResult = mock(TestResult.class);
+        when(testResult.getSuites()).thenReturn(List.of(suites));
+        var action = mock(TestResultAction.class);
+        when(action.getResult()).thenReturn(testResult);
+
+        Run<?, ?> run = mock(Run.class);
+        when(run.getActions(TestResultAction.class)).thenReturn(List.of(action));
+        var actions = spy(new RunActionIndex(run));
+        doReturn(Set.of("Unit Tests", "Integration Tests")).when(actions).findBlockNames();
+
+        return new JenkinsTestReportFactory(actions, true).createFingerprint(tool);
+    }
+
+    @Test
+    void shouldUseTotalsIfSelectionIsDisabled() {
+        var action = mock(TestResultAction.class);
+        when(action.getTotalCount()).thenReturn(5);
+        when(action.getFailCount()).thenReturn(1);
+        when(action.getSkipCount()).thenReturn(2);
+
+        Run<?, ?> run = mock(Run.class);
+        when(run.getAction(TestResultAction.class)).thenReturn(action);
+        when(run.getActions(TestResultAction.class)).thenReturn(List.of(action));
+
+        var testSupplier = new JenkinsTestReportFactory(run);
+        var log = new FilteredLog("Test");
+
+        assertThat(testSupplier.create(new ToolConfiguration("tests", NAME, "**/TEST-*.xml", "", ""), log))
+                .isEqualTo(JenkinsTestReportFactory.createTestReport(2, 2, 1));
+        assertThat(testSupplier.create(new ToolConfiguration("tests", NAME, "", "", ""), log))
+                .isEqualTo(JenkinsTestReportFactory.createTestReport(2, 2, 1));
+
+        verify(action, never()).getResult();
+    }
+
+    @Test
+    void shouldScanStagesOnlyForToolsWithoutPattern() {
+        Run<?, ?> run = mock(Run.class);
+        var actions = spy(new RunActionIndex(run));
+        doReturn(Set.of("Unit Tests")).when(actions).findBlockNames();
+
+        var disabled = new JenkinsTestReportFactory(actions, false);
+        assertThat(disabled.isNarrowing(new ToolConfiguration("Unit Tests", NAME, "", "", ""))).isFalse();
+        verify(actions, never()).findBlockNames();
+
+        var enabled = new JenkinsTestReportFactory(actions, true);
+        assertThat(enabled.isNarrowing(new ToolConfiguration("tests", NAME, "**/TEST-*.xml", "", ""))).isTrue();
+        verify(actions, never()).findBlockNames();
+
+        assertThat(enabled.isNarrowing(new ToolConfiguration("Unit Tests", NAME, "", "", ""))).isTrue();
+        assertThat(enabled.isNarrowing(new ToolConfiguration("Other Tests", NAME, "", "", ""))).isFalse();
+    }
+
+    @Test
+    void shouldLogErrorIfToolSelectsNoSuites() {
+        var unit = createSuite(List.of(), "/home/agent/workspace/job/target/surefire-reports/TEST-Unit.xml",
+                createCase("UnitTest", "passed", false, false));
+
+        var testResult = mock(TestResult.class);
+        when(testResult.getSuites()).thenReturn(List.of(unit));
+        var action = mock(TestResultAction.class);
+        when(action.getResult()).thenReturn(testResult);
+        when(action.getTotalCount()).thenReturn(1);
+
+        Run<?, ?> run = mock(Run.class);
+        when(run.getAction(TestResultAction.class)).thenReturn(action);
+        when(run.getActions(TestResultAction.class)).thenReturn(List.of(action));
+
+        var testSupplier = new JenkinsTestReportFactory(new RunActionIndex(run), true);
+        var log = new FilteredLog("Test");
+
+        var report = testSupplier.create(new ToolConfiguration("typo", NAME, "**/failsafe-reports/*.xml", "", ""), log);
+
+        assertThat(report.getAllTestCases()).isEmpty();
+        assertThat(log.getErrorMessages()).contains("No test suites found for ID 'typo' (neither in a stage or "
+                + "parallel branch 'typo' nor in files matching the pattern '**/failsafe-reports/*.xml')");
+    }
+
+    @Test
+    void shouldSelectSuitesWithAbsoluteAgentPaths() {
+        var unit = createSuite(List.of(), "/home/agent/workspace/job/target/surefire-reports/TEST-Unit.xml",
+                createCase("UnitTest", "passed", false, false));
+        var windows = createSuite(List.of(), "C:\\agent\\workspace\\job\\target\\failsafe-reports\\TEST-ITest.xml",
+                createCase("ITest", "passed", false, false), createCase("OtherITest", "passed", false, false));
+
+        var testResult = mock(TestResult.class);
+        when(testResult.getSuites()).thenReturn(List.of(unit, windows));
+        var action = mock(TestResultAction.class);
+        when(action.getResult()).thenReturn(testResult);
+
+        Run<?, ?> run = mock(Run.class);
+        when(run.getActions(TestResultAction.class)).thenReturn(List.of(action));
+
+        var testSupplier = new JenkinsTestReportFactory(new RunActionIndex(run), true);
+        var log = new FilteredLog("Test");
+
+        assertThat(testSupplier.create(
+                new ToolConfiguration("unit", NAME, "target/surefire-reports/*.xml", "", ""), log)
+                .getAllTestCases()).hasSize(1);
+        assertThat(testSupplier.create(
+                new ToolConfiguration("integration", NAME, "**/failsafe-reports/*.xml", "", ""), log)
+                .getAllTestCases()).hasSize(2);
+    }
+
+    @Test
+    void shouldMatchPatternsAgainstAgentPaths() {
+        assertThat(JenkinsTestReportFactory.matches("**/surefire-reports/*.xml",
+                "/home/agent/workspace/job/target/surefire-reports/TEST-Unit.xml")).isTrue();
+        assertThat(JenkinsTestReportFactory.matches("target/surefire-reports/*.xml",
+                "/home/agent/workspace/job/target/surefire-reports/TEST-Unit.xml")).isTrue();
+        assertThat(JenkinsTestReportFactory.matches("**/surefire-reports/*.xml",
+                "C:\\agent\\workspace\\job\\target\\surefire-reports\\TEST-Unit.xml")).isTrue();
+        assertThat(JenkinsTestReportFactory.matches("target\\surefire-reports\\*.xml",
+                "C:\\agent\\workspace\\job\\target\\surefire-reports\\TEST-Unit.xml")).isTrue();
+        assertThat(JenkinsTestReportFactory.matches("**/failsafe-reports/*.xml",
+                "/home/agent/workspace/job/target/surefire-reports/TEST-Unit.xml")).isFalse();
+        assertThat(JenkinsTestReportFactory.matches("**/failsafe-reports/*.xml",
+                "C:\\agent\\workspace\\job\\target\\surefire-reports\\TEST-Unit.xml")).isFalse();
+    }
+
+    private SuiteResult createSuite(final List<String> blocks, final String file, final CaseResult... cases) {
+        var suite = mock(SuiteResult.class);
+        when(suite.getEnclosingBlockNames()).thenReturn(blocks);
+        when(suite.getName()).thenReturn(file);
+        when(suite.getFile()).thenReturn(file);
+        when(suite.getCases()).thenReturn(List.of(cases));
+        return suite;
+    }
+
+    private CaseResult createCase(final String className, final String name, final boolean failed,
+            final boolean skipped) {
+        var result = mock(CaseResult.class);
+        when(result.getClassName()).thenReturn(className);
+        when(result.getName()).thenReturn(name);
+        when(result.isFailed()).thenReturn(failed);
+        when(result.isSkipped()).thenReturn(skipped);
+        when(result.isPassed()).thenReturn(!failed && !skipped);
+        return result;
+    }
+
+    @Test
+    void shouldShareTestCasesOfSameStatus() {
+        var report = JenkinsTestReportFactory.createTestReport(80_000, 10, 5);
+
+        assertThat(report.getChildren()).hasSize(1).first().isInstanceOfSatisfying(ClassNode.class, tests -> {
+            assertThat(tests.getTestCases()).hasSize(80_015);
+            assertThat(tests.getTestCases().stream().distinct()).hasSize(3);
+        });
     }
 }
@@ -0,0 +1,77 @@
+package io.jenkins.plugins.grading;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.IssueBuilder;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link NewIssueFilter}.
+ *
+ * @author Ullrich Hafner
+ */
+class NewIssueFilterTest {
+    @Test
+    void shouldMatchIssuesByFingerprint() {
+        var filter = new NewIssueFilter(List.of(createIssue("old", 10, "FP-1")));
+
+        assertThat(filter.filter(List.of(createIssue("moved", 20, "FP-1"), createIssue("new", 10, "FP-2"))))
+                .extracting(Issue::getMessage).containsExactly("new");
+    }
+
+    @Test
+    void shouldMatchIssuesWithoutFingerprintByContent() {
+        var filter = new NewIssueFilter(List.of(createIssue("old", 10, null)));
+
+        assertThat(filter.filter(List.of(createIssue("old", 20, null), createIssue("new", 10, null))))
+                .extracting(Issue::getMessage).containsExactly("new");
+    }
+
+    @Test
+    void shouldCountDuplicateIssues() {
+        var filter = new NewIssueFilter(List.of(createIssue("first", 1, "FP"), createIssue("second", 2, "FP")));
+
+        assertThat(filter.filter(List.of(createIssue("1", 1, "FP"), createIssue("2", 2, "FP"),
+                createIssue("3", 3, "FP")))).extracting(Issue::getMessage).containsExactly("3");
+    }
+
+    @Test
+    void shouldReturnAllIssuesIfReferenceIsEmpty() {
+        var filter = new NewIssueFilter(List.of());
+
+        assertThat(filter.filter(List.of(createIssue("1", 1, "FP-1"), createIssue("2", 2, "FP-2"))))
+                .extracting(Issue::getMessage).containsExactly("1", "2");
+    }
+
+    @Test
+    void shouldFilterLargeReportsInLinearTime() {
+        List<Issue> reference = new ArrayList<>();
+        List<Issue> current = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            reference.add(createIssue("Issue " + i, i, "FP-" + i));
+            current.add(createIssue("Issue " + i, i + 1, "FP-" + (i + 10)));
+        }
+
+        var filter = new NewIssueFilter(reference);
+
+        assertThat(filter.filter(current)).extracting(Issue::getMessage)
+                .containsExactly("Issue 99990", "Issue 99991", "Issue 99992", "Issue 99993", "Issue 99994",
+                        "Issue 99995", "Issue 99996", "Issue 99997", "Issue 99998", "Issue 99999");
+    }
+
+    private static Issue createIssue(final String message, final int line, final String fingerprint) {
+        var builder = new IssueBuilder();
+        builder.setFileName("File.java")
+                .setLineStart(line)
+                .setMessage(message);
+        if (fingerprint != null) {
+            builder.setFingerprint(fingerprint);
+        }
+        return builder.build();
+    }
+}
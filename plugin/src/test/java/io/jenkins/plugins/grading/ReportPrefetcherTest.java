@@ -0,0 +1,106 @@
+package io.jenkins.plugins.grading;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.grading.ToolConfiguration;
+import edu.hm.hafner.util.FilteredLog;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link ReportPrefetcher}.
+ *
+ * @author Ullrich Hafner
+ */
+class ReportPrefetcherTest {
+    private static final ToolConfiguration FIRST = new ToolConfiguration("first", "First", "unused", "unused",
+            "unused");
+    private static final ToolConfiguration SECOND = new ToolConfiguration("second", "Second", "unused", "unused",
+            "unused");
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldMergeLogsInRequestedOrder() {
+        var prefetcher = new ReportPrefetcher<>((tool, log) -> {
+            log.logInfo("Loading %s", tool.getId());
+            return tool.getName();
+        });
+        prefetcher.prefetch(List.of(FIRST, SECOND), executor);
+
+        var log = new FilteredLog("Test");
+        assertThat(prefetcher.create(FIRST, log)).isEqualTo("First");
+        assertThat(prefetcher.create(SECOND, log)).isEqualTo("Second");
+
+        assertThat(log.getInfoMessages()).containsExactly("Loading first", "Loading second");
+    }
+
+    @Test
+    void shouldLoadEachToolOnlyOnce() {
+        var counter = new AtomicInteger();
+        var prefetcher = new ReportPrefetcher<>((tool, log) -> counter.incrementAndGet());
+        prefetcher.prefetch(List.of(FIRST, FIRST), executor);
+
+        var log = new FilteredLog("Test");
+        assertThat(prefetcher.create(FIRST, log)).isEqualTo(1);
+        assertThat(counter).hasValue(1);
+    }
+
+    @Test
+    void shouldLoadUnknownToolInCallingThread() {
+        var prefetcher = new ReportPrefetcher<>((tool, log) -> Thread.currentThread());
+
+        assertThat(prefetcher.create(SECOND, new FilteredLog("Test"))).isSameAs(Thread.currentThread());
+    }
+
+    @Test
+    void shouldRethrowExceptionOfLoader() {
+        var prefetcher = new ReportPrefetcher<String>((tool, log) -> {
+            throw new IllegalArgumentException("Broken " + tool.getId());
+        });
+        prefetcher.prefetch(List.of(FIRST), executor);
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> prefetcher.create(FIRST, new FilteredLog("Test")))
+                .withMessage("Broken first");
+    }
+
+    @Test
+    void shouldCancelLoadersOfRemainingTools() throws InterruptedException {
+        var started = new CountDownLatch(1);
+        var interrupted = new CountDownLatch(1);
+        var prefetcher = new ReportPrefetcher<>((tool, log) -> {
+            if (SECOND.getId().equals(tool.getId())) {
+                started.countDown();
+                try {
+                    Thread.sleep(Long.MAX_VALUE);
+                }
+                catch (InterruptedException exception) {
+                    interrupted.countDown();
+                }
+            }
+            return tool.getName();
+        });
+        prefetcher.prefetch(List.of(FIRST, SECOND), executor);
+
+        assertThat(prefetcher.create(FIRST, new FilteredLog("Test"))).isEqualTo("First");
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+        prefetcher.cancel();
+
+        assertThat(interrupted.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+}
@@ -0,0 +1,116 @@
+package io.jenkins.plugins.grading;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.hm.hafner.grading.AggregatedScore;
+import edu.hm.hafner.util.FilteredLog;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link ResultWriter}.
+ *
+ * @author Ullrich Hafner
+ */
+class ResultWriterTest {
+    @TempDir
+    private Path buildDirectory;
+
+    @Test
+    void shouldServePendingResultsUntilWritten() {
+        var executor = Executors.newSingleThreadExecutor();
+        try {
+            var blocked = new CountDownLatch(1);
+            executor.execute(() -> await(blocked));
+
+            var writer = new ResultWriter(executor);
+            var file = buildDirectory.resolve(CompressedScoreStream.FILE_NAME);
+            var log = new FilteredLog("Test");
+            log.logInfo("Grading static analysis results");
+            var score = new AggregatedScore("", log);
+
+            var indexed = new AtomicBoolean();
+            writer.write(buildDirectory, file, score, log, () -> indexed.set(Files.exists(file)));
+
+            assertThat(writer.findPending(file)).containsSame(score);
+            assertThat(file).doesNotExist();
+            assertThat(indexed).isFalse();
+
+            blocked.countDown();
+            writer.flush(buildDirectory);
+
+            assertThat(writer.findPending(file)).isEmpty();
+            assertThat(file).exists();
+            assertThat(indexed).isTrue(); // the indexes are updated after the result has been written
+            assertThat(Files.exists(buildDirectory.resolve(GradingLogStore.FILE_NAME))).isTrue();
+            assertThat(GradingLogStore.read(buildDirectory)).hasValueSatisfying(
+                    messages -> assertThat(messages.infoMessages()).contains("Grading static analysis results"));
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldIgnoreOtherBuildsWhenFlushing(@TempDir final Path otherBuild) {
+        var executor = Executors.newSingleThreadExecutor();
+        try {
+            var blocked = new CountDownLatch(1);
+            executor.execute(() -> await(blocked));
+
+            var writer = new ResultWriter(executor);
+            var file = otherBuild.resolve(CompressedScoreStream.FILE_NAME);
+            var log = new FilteredLog("Test");
+            writer.write(otherBuild, file, new AggregatedScore("", log), log, () -> { });
+
+            writer.flush(buildDirectory); // must not block
+
+            assertThat(writer.findPending(file)).isPresent();
+            blocked.countDown();
+            writer.flushAll();
+            assertThat(writer.findPending(file)).isEmpty();
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldKeepServingResultIfWritingFails() throws IOException {
+        var executor = Executors.newSingleThreadExecutor();
+        try {
+            var writer = new ResultWriter(executor);
+            var file = buildDirectory.resolve(CompressedScoreStream.FILE_NAME);
+            Files.createDirectories(file.resolve("blocked")); // a non-empty directory can't be replaced
+            var log = new FilteredLog("Test");
+            var score = new AggregatedScore("", log);
+
+            var indexed = new AtomicBoolean();
+            writer.write(buildDirectory, file, score, log, () -> indexed.set(true));
+            writer.flush(buildDirectory);
+
+            assertThat(writer.findPending(file)).containsSame(score);
+            assertThat(indexed).isFalse();
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
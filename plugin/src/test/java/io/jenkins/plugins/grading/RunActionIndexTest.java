@@ -0,0 +1,69 @@
+package io.jenkins.plugins.grading;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.util.FilteredLog;
+
+import hudson.model.Run;
+
+import io.jenkins.plugins.analysis.core.model.ResultAction;
+import io.jenkins.plugins.coverage.metrics.steps.CoverageBuildAction;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the class {@link RunActionIndex}.
+ *
+ * @author Ullrich Hafner
+ */
+class RunActionIndexTest {
+    @Test
+    void shouldScanActionsOnlyOnce() {
+        var checkstyle = createAnalysisAction("checkstyle");
+        var pmd = createAnalysisAction("pmd");
+
+        Run<?, ?> run = mock(Run.class);
+        when(run.getActions(ResultAction.class)).thenReturn(List.of(checkstyle, pmd));
+
+        var index = new RunActionIndex(run);
+        var log = new FilteredLog("Test");
+
+        assertThat(index.findAnalysisAction("checkstyle", log)).contains(checkstyle);
+        assertThat(index.findAnalysisAction("pmd", log)).contains(pmd);
+        assertThat(index.findAnalysisAction("spotbugs", log)).isEmpty();
+        assertThat(log.getErrorMessages()).isEmpty();
+
+        verify(run, times(1)).getActions(ResultAction.class);
+    }
+
+    @Test
+    void shouldReportDuplicateIds() {
+        var first = createCoverageAction("coverage");
+        var second = createCoverageAction("coverage");
+
+        Run<?, ?> run = mock(Run.class);
+        when(run.getActions(CoverageBuildAction.class)).thenReturn(List.of(first, second));
+
+        var index = new RunActionIndex(run);
+        var log = new FilteredLog("Test");
+
+        assertThat(index.findCoverageAction("coverage", log)).contains(first);
+        assertThat(log.getErrorMessages()).anySatisfy(
+                message -> assertThat(message).contains("duplicate CoverageBuildAction with ID 'coverage'"));
+    }
+
+    private ResultAction createAnalysisAction(final String id) {
+        var action = mock(ResultAction.class);
+        when(action.getId()).thenReturn(id);
+        return action;
+    }
+
+    private CoverageBuildAction createCoverageAction(final String id) {
+        var action = mock(CoverageBuildAction.class);
+        when(action.getUrlName()).thenReturn(id);
+        return action;
+    }
+}
@@ -0,0 +1,173 @@
+package io.jenkins.plugins.grading;
+
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.grading.AggregatedScore;
+import edu.hm.hafner.util.FilteredLog;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link ScoreCache}.
+ *
+ * @author Ullrich Hafner
+ */
+class ScoreCacheTest {
+    private static final Path FIRST = Path.of("1", CompressedScoreStream.FILE_NAME);
+    private static final Path SECOND = Path.of("2", CompressedScoreStream.FILE_NAME);
+    private static final Path THIRD = Path.of("3", CompressedScoreStream.FILE_NAME);
+
+    @Test
+    void shouldLoadScoreOnlyOnce() {
+        var cache = new ScoreCache(100, score -> 10);
+        var loads = new AtomicInteger();
+        var score = createScore();
+
+        assertThat(cache.get(FIRST, count(loads, score))).isSameAs(score);
+        assertThat(cache.get(FIRST, count(loads, createScore()))).isSameAs(score);
+
+        assertThat(loads).hasValue(1);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.getWeight()).isEqualTo(10);
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedScores() {
+        var cache = new ScoreCache(20, score -> 10);
+        var first = createScore();
+        var second = createScore();
+
+        cache.get(FIRST, () -> first);
+        cache.get(SECOND, () -> second);
+        cache.get(FIRST, () -> first); // now SECOND is the least recently used score
+        cache.get(THIRD, this::createScore);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getWeight()).isEqualTo(20);
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+        assertThat(cache.get(FIRST, this::createScore)).isSameAs(first);
+        assertThat(cache.get(SECOND, this::createScore)).isNotSameAs(second);
+    }
+
+    @Test
+    void shouldNotCacheScoresThatExceedCapacity() {
+        var cache = new ScoreCache(20, score -> 30);
+
+        cache.get(FIRST, this::createScore);
+
+        assertThat(cache.size()).isZero();
+        assertThat(cache.getWeight()).isZero();
+        assertThat(cache.getEvictionCount()).isZero();
+    }
+
+    @Test
+    void shouldInvalidateScore() {
+        var cache = new ScoreCache(100, score -> 10);
+        var score = createScore();
+        cache.get(FIRST, () -> score);
+
+        cache.invalidate(FIRST);
+
+        assertThat(cache.size()).isZero();
+        assertThat(cache.getWeight()).isZero();
+        assertThat(cache.get(FIRST, this::createScore)).isNotSameAs(score);
+    }
+
+    @Test
+    void shouldEstimateWeightBasedOnSubScores() {
+        var empty = ScoreCache.estimateWeight(createScore());
+        var oneTool = ScoreCache.estimateWeight(createAnalysisScore("{\"id\": \"checkstyle\"}"));
+        var twoTools = ScoreCache.estimateWeight(
+                createAnalysisScore("{\"id\": \"checkstyle\"}, {\"id\": \"pmd\"}"));
+
+        assertThat(oneTool).isGreaterThan(empty);
+        assertThat(twoTools).isGreaterThan(oneTool);
+    }
+
+    private AggregatedScore createAnalysisScore(final String tools) {
+        var score = new AggregatedScore("""
+                {
+                  "analysis": {
+                    "tools": [%s],
+                    "errorImpact": -1,
+                    "maxScore": 100
+                  }
+                }
+                """.formatted(tools), new FilteredLog("Test"));
+        score.gradeAnalysis((tool, log) -> new Report());
+        return score;
+    }
+
+    @Test
+    void shouldLoadMissingScoreOnlyOnceForConcurrentRequests() throws InterruptedException {
+        var cache = new ScoreCache(100, score -> 10);
+        var loads = new AtomicInteger();
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var score = createScore();
+
+        var first = new Thread(() -> cache.get(FIRST, () -> {
+            loads.incrementAndGet();
+            started.countDown();
+            await(release);
+            return score;
+        }));
+        first.start();
+        started.await();
+
+        var second = new AtomicReference<AggregatedScore>();
+        var waiting = new Thread(() -> second.set(cache.get(FIRST, count(loads, createScore()))));
+        waiting.start();
+        while (waiting.getState() != Thread.State.WAITING) { // waits for the result of the first thread
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        first.join();
+        waiting.join();
+
+        assertThat(second.get()).isSameAs(score);
+        assertThat(loads).hasValue(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotCacheScoreThatIsInvalidatedWhileLoading() {
+        var cache = new ScoreCache(100, score -> 10);
+
+        cache.get(FIRST, () -> {
+            cache.invalidate(FIRST);
+            return createScore();
+        });
+
+        assertThat(cache.size()).isZero();
+    }
+
+    private void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private AggregatedScore createScore() {
+        return new AggregatedScore("", new FilteredLog("Test"));
+    }
+
+    private Supplier<AggregatedScore> count(final AtomicInteger counter, final AggregatedScore score) {
+        return () -> {
+            counter.incrementAndGet();
+            return score;
+        };
+    }
+}
@@ -0,0 +1,202 @@
+package io.jenkins.plugins.grading;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.jenkins.plugins.grading.ScoreColumnStore.ScoreRow;
+import io.jenkins.plugins.grading.ScoreSummary.CategorySummary;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link ScoreColumnStore}.
+ *
+ * @author Ullrich Hafner
+ */
+class ScoreColumnStoreTest {
+    private static final Supplier<List<ScoreRow>> EMPTY = List::of;
+    private static final int HEADER_SIZE = 32;
+
+    @TempDir
+    private Path jobDirectory;
+
+    @Test
+    void shouldRebuildMissingStoreAndQueryRanges() {
+        var store = createStore();
+
+        store.put(createRow(3, 30), () -> List.of(createRow(2, 20), createRow(1, 10)));
+
+        assertThat(store.query(0, Integer.MAX_VALUE, noRebuild()))
+                .containsExactly(createRow(1, 10), createRow(2, 20), createRow(3, 30));
+        assertThat(store.query(2, 3, noRebuild())).containsExactly(createRow(2, 20), createRow(3, 30));
+        assertThat(store.query(4, 10, noRebuild())).isEmpty();
+    }
+
+    @Test
+    void shouldInsertBuildsThatCompleteOutOfOrder() {
+        var store = createStore();
+
+        store.put(createRow(1, 10), EMPTY);
+        store.put(createRow(3, 30), noRebuild());
+        store.put(createRow(2, 20), noRebuild());
+        store.put(createRow(3, 35), noRebuild());
+
+        assertThat(store.query(0, Integer.MAX_VALUE, noRebuild()))
+                .containsExactly(createRow(1, 10), createRow(2, 20), createRow(3, 35));
+    }
+
+    @Test
+    void shouldEnlargeStore() {
+        var store = createStore();
+
+        for (int build = 1; build <= 1000; build++) {
+            store.put(createRow(build, build % 101), build == 1 ? EMPTY : noRebuild());
+        }
+
+        var rows = store.query(0, Integer.MAX_VALUE, noRebuild());
+        assertThat(rows).hasSize(1000);
+        assertThat(rows.get(0)).isEqualTo(createRow(1, 1));
+        assertThat(rows.get(999)).isEqualTo(createRow(1000, 1000 % 101));
+        assertThat(store.query(500, 502, noRebuild()))
+                .containsExactly(createRow(500, 500 % 101), createRow(501, 501 % 101), createRow(502, 502 % 101));
+    }
+
+    @Test
+    void shouldComputePercentiles() {
+        var store = createStore();
+        for (int build = 1; build <= 10; build++) {
+            store.put(createRow(build, build * 10), build == 1 ? EMPTY : noRebuild());
+        }
+
+        assertThat(store.percentile(0, Integer.MAX_VALUE, 0, noRebuild())).hasValue(10);
+        assertThat(store.percentile(0, Integer.MAX_VALUE, 50, noRebuild())).hasValue(50);
+        assertThat(store.percentile(0, Integer.MAX_VALUE, 90, noRebuild())).hasValue(90);
+        assertThat(store.percentile(0, Integer.MAX_VALUE, 100, noRebuild())).hasValue(100);
+        assertThat(store.percentile(6, 10, 50, noRebuild())).hasValue(80);
+        assertThat(store.percentile(11, 20, 50, noRebuild())).isEmpty();
+
+        assertThatIllegalArgumentException().isThrownBy(() -> store.percentile(0, 10, 101, noRebuild()));
+    }
+
+    @Test
+    void shouldSkipAndRemoveDeletedBuilds() {
+        var store = createStore();
+        for (int build = 1; build <= 4; build++) {
+            store.put(createRow(build, build * 10), build == 1 ? EMPTY : noRebuild());
+        }
+
+        store.delete(2);
+
+        assertThat(store.query(0, Integer.MAX_VALUE, noRebuild()))
+                .containsExactly(createRow(1, 10), createRow(3, 30), createRow(4, 40));
+        assertThat(store.percentile(0, Integer.MAX_VALUE, 0, noRebuild())).hasValue(10);
+
+        store.delete(1); // compacts the store
+        store.delete(1);
+        store.delete(7);
+
+        assertThat(store.query(0, Integer.MAX_VALUE, noRebuild()))
+                .containsExactly(createRow(3, 30), createRow(4, 40));
+        assertThat(store.percentile(0, Integer.MAX_VALUE, 0, noRebuild())).hasValue(30);
+
+        store.put(createRow(2, 25), noRebuild());
+
+        assertThat(store.query(0, Integer.MAX_VALUE, noRebuild()))
+                .containsExactly(createRow(2, 25), createRow(3, 30), createRow(4, 40));
+    }
+
+    @Test
+    void shouldRebuildCorruptStore() throws IOException {
+        var store = createStore();
+        store.put(createRow(1, 10), EMPTY);
+
+        Files.writeString(jobDirectory.resolve(ScoreColumnStore.FILE_NAME), "broken");
+
+        assertThat(store.query(0, Integer.MAX_VALUE, () -> List.of(createRow(1, 10), createRow(2, 20))))
+                .containsExactly(createRow(1, 10), createRow(2, 20));
+    }
+
+    @Test
+    void shouldVerifyOrderOfBuildsOncePerGeneration() throws IOException {
+        var store = createStore();
+        store.put(createRow(1, 10), EMPTY);
+        store.put(createRow(2, 20), noRebuild());
+        assertThat(store.query(0, Integer.MAX_VALUE, noRebuild())).hasSize(2);
+
+        var file = jobDirectory.resolve(ScoreColumnStore.FILE_NAME);
+        var content = Files.readAllBytes(file);
+        ByteBuffer.wrap(content).putInt(HEADER_SIZE, 3); // first build number is now greater than the second one
+        Files.write(file, content);
+
+        assertThat(store.query(0, Integer.MAX_VALUE, noRebuild())).hasSize(2); // same generation: not verified again
+
+        var replacement = jobDirectory.resolve("replacement.dat");
+        Files.write(replacement, content);
+        Files.move(replacement, file, StandardCopyOption.REPLACE_EXISTING);
+
+        assertThat(store.query(0, Integer.MAX_VALUE, () -> List.of(createRow(1, 10), createRow(2, 20))))
+                .containsExactly(createRow(1, 10), createRow(2, 20));
+    }
+
+    @Test
+    void shouldIgnoreDeletionsWithoutStore() {
+        var store = createStore();
+
+        store.delete(1);
+
+        assertThat(jobDirectory.resolve(ScoreColumnStore.FILE_NAME)).doesNotExist();
+    }
+
+    @Test
+    void shouldReturnLatestBuilds() {
+        var store = createStore();
+        for (int build = 1; build <= 10; build++) {
+            store.put(createRow(build, build * 10), EMPTY);
+        }
+        store.delete(9);
+
+        assertThat(store.latest(3, noRebuild()))
+                .containsExactly(createRow(7, 70), createRow(8, 80), createRow(10, 100));
+        assertThat(store.latest(20, noRebuild())).hasSize(9);
+    }
+
+    @Test
+    void shouldEvictStoresOfRemovedJobs() throws IOException {
+        var removedJob = Files.createDirectory(jobDirectory.resolve("removed"));
+        var removedStore = new ScoreColumnStore(removedJob.resolve(ScoreColumnStore.FILE_NAME));
+        removedStore.put(createRow(1, 10), EMPTY);
+        var store = createStore();
+        store.put(createRow(1, 10), EMPTY);
+
+        Files.delete(removedJob.resolve(ScoreColumnStore.FILE_NAME));
+        Files.delete(removedJob);
+        ScoreColumnStore.evictRemovedJobs();
+
+        assertThat(ScoreColumnStore.isTracked(removedJob.resolve(ScoreColumnStore.FILE_NAME))).isFalse();
+        assertThat(ScoreColumnStore.isTracked(jobDirectory.resolve(ScoreColumnStore.FILE_NAME))).isTrue();
+    }
+
+    private ScoreColumnStore createStore() {
+        return new ScoreColumnStore(jobDirectory.resolve(ScoreColumnStore.FILE_NAME));
+    }
+
+    private static ScoreRow createRow(final int build, final int achieved) {
+        return new ScoreRow(build, build * 1000L, new ScoreSummary(achieved, 100,
+                new CategorySummary(true, achieved / 2, 50), new CategorySummary(false, 0, 0),
+                new CategorySummary(true, achieved - achieved / 2, 50), new CategorySummary(false, 0, 0)));
+    }
+
+    private static Supplier<List<ScoreRow>> noRebuild() {
+        return () -> {
+            throw new AssertionError("Store should not be rebuilt");
+        };
+    }
+}
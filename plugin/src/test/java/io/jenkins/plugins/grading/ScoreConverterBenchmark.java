@@ -0,0 +1,49 @@
+package io.jenkins.plugins.grading;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.grading.AggregatedScore;
+
+import hudson.util.XStream2;
+
+/**
+ * Compares the cost of reading a large number of stored scores with the {@link ScoreConverter converters} and with the
+ * reflection based converters of XStream.
+ *
+ * @author Ullrich Hafner
+ */
+class ScoreConverterBenchmark extends AbstractBenchmark {
+    private static final int STORED_RESULTS = 2000;
+
+    @Test
+    void shouldCompareConvertersWithReflection() throws IOException, ClassNotFoundException {
+        var reflectiveStream = ScoreConverterITest.createReflectiveStream();
+        var convertedStream = ScoreConverterITest.createConvertedStream();
+        var xml = convertedStream.toXML(readScore());
+
+        long reflective = measure(() -> readAll(reflectiveStream, xml));
+        long converted = measure(() -> readAll(convertedStream, xml));
+
+        report("Reading %d results: converters %d ms, reflection %d ms", STORED_RESULTS,
+                converted / 1_000_000, reflective / 1_000_000);
+    }
+
+    private long readAll(final XStream2 xStream, final String xml) {
+        long scores = 0;
+        for (int i = 0; i < STORED_RESULTS; i++) {
+            scores += ((AggregatedScore) xStream.fromXML(xml)).getAchievedScore();
+        }
+        return scores;
+    }
+
+    private AggregatedScore readScore() throws IOException, ClassNotFoundException {
+        try (InputStream stream = ScoreConverterBenchmark.class.getResourceAsStream("aggregated-score.ser");
+                ObjectInputStream inputStream = new ObjectInputStream(stream)) {
+            return (AggregatedScore) inputStream.readObject();
+        }
+    }
+}
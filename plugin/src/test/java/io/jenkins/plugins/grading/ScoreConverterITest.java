@@ -0,0 +1,63 @@
+package io.jenkins.plugins.grading;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.grading.AggregatedScore;
+import edu.hm.hafner.grading.AnalysisScore;
+import edu.hm.hafner.grading.CoverageScore;
+import edu.hm.hafner.grading.TestScore;
+
+import hudson.util.XStream2;
+
+import static edu.hm.hafner.grading.assertions.Assertions.*;
+
+/**
+ * Tests the class {@link ScoreConverter}. Verifies that the converters are compatible with the reflection based
+ * converters of XStream. The run time of both variants is compared in {@link ScoreConverterBenchmark}.
+ *
+ * @author Ullrich Hafner
+ */
+class ScoreConverterITest extends AbstractScoreSerializationTest {
+    @Test
+    void shouldSupportAllScoreTypes() {
+        var xStream = new XStream2();
+        for (Class<?> type : new Class<?>[] {
+                AggregatedScore.class, AnalysisScore.class, TestScore.class, CoverageScore.class}) {
+            assertThat(new ScoreConverter(type, xStream.getMapper(), xStream.getReflectionProvider()).isSupported())
+                    .as("Converter for %s", type).isTrue();
+        }
+    }
+
+    @Test
+    void shouldBeCompatibleWithReflectionConverter() {
+        var score = createScore();
+
+        var reflective = createReflectiveStream();
+        var converted = createConvertedStream();
+
+        var reflectiveXml = reflective.toXML(score);
+        var convertedXml = converted.toXML(score);
+
+        verifyScore((AggregatedScore) converted.fromXML(reflectiveXml));
+        verifyScore((AggregatedScore) reflective.fromXML(convertedXml));
+
+        assertThat(converted.toXML(converted.fromXML(reflectiveXml))).isEqualTo(convertedXml);
+        assertThat(reflective.toXML(reflective.fromXML(convertedXml))).isEqualTo(reflectiveXml);
+    }
+
+    static XStream2 createConvertedStream() {
+        var xStream = new XStream2();
+        new AggregatedScoreXmlStream().configureXStream(xStream);
+        return xStream;
+    }
+
+    static XStream2 createReflectiveStream() {
+        var xStream = new XStream2();
+        xStream.alias("scores", AggregatedScore.class);
+        xStream.alias("analysisScore", AnalysisScore.class);
+        xStream.alias("testScore", TestScore.class);
+        xStream.alias("coverageScore", CoverageScore.class);
+        xStream.registerConverter(new FilteredLogConverter(xStream.getMapper(), xStream.getReflectionProvider()));
+        return xStream;
+    }
+}
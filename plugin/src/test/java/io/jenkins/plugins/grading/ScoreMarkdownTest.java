@@ -0,0 +1,115 @@
+package io.jenkins.plugins.grading;
+
+import java.util.StringJoiner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import edu.hm.hafner.analysis.IssueBuilder;
+import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.grading.AggregatedScore;
+import edu.hm.hafner.grading.GradingReport;
+import edu.hm.hafner.grading.ToolConfiguration;
+import edu.hm.hafner.util.FilteredLog;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link ScoreMarkdown}.
+ *
+ * @author Ullrich Hafner
+ */
+class ScoreMarkdownTest {
+    private static final int TABLE_BUDGET = 1_000; // too small for the grading report
+
+    @Test
+    void shouldUseGradingReportIfItFits() {
+        var score = createScore(3);
+        var markdown = new ScoreMarkdown(ScoreMarkdown.DEFAULT_BUDGET);
+
+        assertThat(markdown.createDetails(score)).isEqualTo(new GradingReport().getMarkdownDetails(score));
+        assertThat(markdown.createSummary(score, "")).isEqualTo(new GradingReport().getTextSummary(score));
+        assertThat(markdown.createSummary(score, "Annotated 3 new issues"))
+                .isEqualTo(new GradingReport().getTextSummary(score) + "\n\nAnnotated 3 new issues");
+    }
+
+    @Test
+    void shouldRenderAllRowsIfTextFits() {
+        var details = new ScoreMarkdown(TABLE_BUDGET).createDetails(createScore(3));
+
+        assertThat(details).startsWith("### Style: 88 of 100\n")
+                .contains("|Name|Errors|High|Normal|Low|Total|Impact|\n",
+                        "|Tool 1|0|0|1|0|1|-2|\n", "|Tool 2|0|0|2|0|2|-4|\n", "|Tool 3|0|0|3|0|3|-6|\n")
+                .doesNotContain("more rows");
+    }
+
+    @Test
+    void shouldEscapePipesInNames() {
+        var details = new ScoreMarkdown(TABLE_BUDGET).createDetails(createScore(1, "Tool | %d"));
+
+        assertThat(details).contains("|Tool \\| 1|0|0|1|0|1|-2|\n");
+    }
+
+    @Test
+    void shouldOmitRowsWithLowestImpact() {
+        var details = new ScoreMarkdown(600).createDetails(createScore(50));
+
+        assertThat(details).hasSizeLessThanOrEqualTo(600)
+                .contains("|Tool 50|", "|Tool 49|")
+                .doesNotContain("|Tool 1|")
+                .endsWith(" more rows are not shown due to the size limit._\n");
+        assertThat(details.indexOf("|Tool 49|")).isLessThan(details.indexOf("|Tool 50|")); // original order
+    }
+
+    @ParameterizedTest(name = "budget = {0}")
+    @ValueSource(ints = {0, 10, 100, 1000, 10_000})
+    void shouldNeverExceedBudget(final int budget) {
+        var score = createScore(200);
+        var markdown = new ScoreMarkdown(budget);
+
+        assertThat(markdown.createDetails(score)).hasSizeLessThanOrEqualTo(budget);
+        assertThat(markdown.createSummary(score, "Annotated 10 new issues")).hasSizeLessThanOrEqualTo(budget);
+    }
+
+    @Test
+    void shouldRenderSummary() {
+        var score = createScore(2);
+
+        assertThat(new ScoreMarkdown(TABLE_BUDGET).createSummary(score, "Annotated 3 new issues"))
+                .isEqualTo("Total score: 94 of 100\n- Static Analysis: 94 of 100\n\nAnnotated 3 new issues\n");
+    }
+
+    private AggregatedScore createScore(final int tools) {
+        return createScore(tools, "Tool %d");
+    }
+
+    private AggregatedScore createScore(final int tools, final String name) {
+        var configuration = new StringJoiner(",", """
+                {
+                  "analysis": [{
+                    "name": "Style",
+                    "errorImpact": -10,
+                    "highImpact": -5,
+                    "normalImpact": -2,
+                    "lowImpact": -1,
+                    "maxScore": 100,
+                    "tools": [""", "]}]}");
+        for (int i = 1; i <= tools; i++) {
+            configuration.add(String.format("{\"id\": \"tool%d\", \"name\": \"%s\"}", i, String.format(name, i)));
+        }
+        var score = new AggregatedScore(configuration.toString(), new FilteredLog("Test"));
+        score.gradeAnalysis((tool, log) -> createReport(tool));
+        return score;
+    }
+
+    private Report createReport(final ToolConfiguration tool) {
+        int size = Integer.parseInt(tool.getId().substring("tool".length()));
+        var report = new Report();
+        var builder = new IssueBuilder();
+        for (int i = 0; i < size; i++) {
+            report.add(builder.setFileName("File.java").setLineStart(i).setMessage(tool.getId()).build());
+        }
+        return report;
+    }
+}
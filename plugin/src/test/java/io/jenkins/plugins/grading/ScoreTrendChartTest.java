@@ -0,0 +1,39 @@
+package io.jenkins.plugins.grading;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.echarts.LineSeries;
+
+import io.jenkins.plugins.grading.ScoreColumnStore.ScoreRow;
+import io.jenkins.plugins.grading.ScoreSummary.CategorySummary;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link ScoreTrendChart}.
+ *
+ * @author Ullrich Hafner
+ */
+class ScoreTrendChartTest {
+    @Test
+    void shouldCreateSeriesForTotalAndGradedCategories() {
+        var builds = List.of(createRow(1, 20, 10), createRow(2, 50, 20), createRow(5, 80, 25));
+
+        var model = new ScoreTrendChart().create(builds);
+
+        assertThat(model.getDomainAxisLabels()).containsExactly("#1", "#2", "#5");
+        assertThat(model.getBuildNumbers()).containsExactly(1, 2, 5);
+        assertThat(model.getSeries()).extracting(LineSeries::getName).containsExactly(
+                Messages.Trend_Total(), Messages.Trend_Tests(), Messages.Trend_Analysis());
+        assertThat(model.getSeries().get(0).getData()).containsExactly(20, 50, 80);
+        assertThat(model.getSeries().get(1).getData()).containsExactly(40, 80, 100);
+    }
+
+    private ScoreRow createRow(final int build, final int achieved, final int testsAchieved) {
+        return new ScoreRow(build, build * 1000L, new ScoreSummary(achieved, 100,
+                new CategorySummary(true, testsAchieved, 25), new CategorySummary(false, 0, 0),
+                new CategorySummary(false, 0, 0), new CategorySummary(true, 0, 75)));
+    }
+}
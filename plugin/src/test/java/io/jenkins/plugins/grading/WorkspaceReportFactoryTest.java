@@ -0,0 +1,75 @@
+package io.jenkins.plugins.grading;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.hm.hafner.grading.ToolConfiguration;
+import edu.hm.hafner.util.FilteredLog;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link WorkspaceReportFactory}.
+ *
+ * @author Ullrich Hafner
+ */
+class WorkspaceReportFactoryTest {
+    @TempDir
+    private Path workspace;
+
+    @Test
+    void shouldParseAnalysisReportsOfPattern() throws IOException {
+        copy("checkstyle.xml", "target/checkstyle-result.xml");
+
+        var log = new FilteredLog("Test");
+        var report = new WorkspaceReportFactory(workspace.toFile()).createAnalysisReport(
+                new ToolConfiguration("checkstyle", "CheckStyle", "**/checkstyle-result.xml", "", ""), log);
+
+        assertThat(report.size()).isEqualTo(7);
+        assertThat(log.getErrorMessages()).isEmpty();
+        assertThat(log.getInfoMessages()).contains(
+                "-> Found 1 files for pattern '**/checkstyle-result.xml'",
+                "-> Parsed 7 issues for checkstyle");
+    }
+
+    @Test
+    void shouldParseJUnitReports() throws IOException {
+        copy("TEST-InjectedTest.xml", "target/surefire-reports/TEST-InjectedTest.xml");
+
+        var log = new FilteredLog("Test");
+        var report = new WorkspaceReportFactory(workspace.toFile()).createTestReport(
+                new ToolConfiguration("junit", "JUnit", "**/TEST-*.xml", "", ""), log);
+
+        assertThat(report.getAllTestCases()).hasSize(12);
+        assertThat(log.getErrorMessages()).isEmpty();
+    }
+
+    @Test
+    void shouldReportMissingFilesAndParsers() {
+        var log = new FilteredLog("Test");
+        var factory = new WorkspaceReportFactory(workspace.toFile());
+
+        assertThat(factory.createAnalysisReport(
+                new ToolConfiguration("pmd", "PMD", "**/pmd.xml", "", ""), log)).isEmpty();
+        assertThat(factory.createAnalysisReport(
+                new ToolConfiguration("unknown", "Unknown", "**/unknown.xml", "", ""), log)).isEmpty();
+
+        assertThat(log.getErrorMessages()).contains(
+                "No files found for pattern '**/pmd.xml'",
+                "No static analysis parser found for ID 'unknown'");
+    }
+
+    private void copy(final String resource, final String target) throws IOException {
+        var file = workspace.resolve(target);
+        Files.createDirectories(file.getParent());
+        try (InputStream stream = WorkspaceReportFactoryTest.class.getResourceAsStream(resource)) {
+            assertThat(stream).isNotNull();
+            Files.copy(stream, file);
+        }
+    }
+}